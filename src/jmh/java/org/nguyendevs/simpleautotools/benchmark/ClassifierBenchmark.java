@@ -0,0 +1,64 @@
+package org.nguyendevs.simpleautotools.benchmark;
+
+import org.bukkit.Material;
+import org.nguyendevs.simpleautotools.testing.StandInServer;
+import org.nguyendevs.simpleautotools.utils.TagBasedToolUtils;
+import org.nguyendevs.simpleautotools.utils.ToolType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of the TagBasedToolUtils block and item classifiers
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClassifierBenchmark {
+
+    @Param({"DIAMOND_ORE", "GLASS"})
+    public Material block;
+
+    private Material tool;
+
+    @Setup
+    public void setup() {
+        StandInServer.install();
+        tool = Material.DIAMOND_PICKAXE;
+    }
+
+    @Benchmark
+    public ToolType requiredToolType() {
+        return TagBasedToolUtils.getRequiredToolType(block);
+    }
+
+    @Benchmark
+    public void smartEnchantmentFlags(Blackhole blackhole) {
+        blackhole.consume(TagBasedToolUtils.prefersSilkTouch(block));
+        blackhole.consume(TagBasedToolUtils.benefitsFromFortune(block));
+    }
+
+    @Benchmark
+    public boolean canHarvest() {
+        return TagBasedToolUtils.canHarvest(tool, block);
+    }
+
+    @Benchmark
+    public ToolType itemToolType() {
+        return TagBasedToolUtils.getItemToolType(tool);
+    }
+}
@@ -0,0 +1,86 @@
+package org.nguyendevs.simpleautotools.benchmark;
+
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemStack;
+import org.nguyendevs.simpleautotools.managers.ToolInventoryIndex;
+import org.nguyendevs.simpleautotools.testing.StandIns;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Inventory contents the benchmarks are parameterized over
+ */
+public enum InventoryLayout {
+
+    /**
+     * Nothing at all: measures the fixed cost of a lookup
+     */
+    EMPTY {
+        @Override
+        ItemStack[] create() {
+            return new ItemStack[ToolInventoryIndex.SLOT_COUNT];
+        }
+    },
+
+    /**
+     * All 36 slots hold tools of every type and tier with random enchantments and wear
+     */
+    MIXED {
+        @Override
+        ItemStack[] create() {
+            String[] tiers = {"WOODEN", "STONE", "IRON", "GOLDEN", "DIAMOND", "NETHERITE"};
+            String[] kinds = {"PICKAXE", "AXE", "SHOVEL", "HOE", "SWORD", "SHEARS"};
+            Enchantment[] enchantments = {
+                    Enchantment.DIG_SPEED, Enchantment.LOOT_BONUS_BLOCKS, Enchantment.SILK_TOUCH,
+                    Enchantment.DURABILITY, Enchantment.MENDING, Enchantment.DAMAGE_ALL
+            };
+
+            // Fixed seed so every run benchmarks the same inventory
+            Random random = new Random(42);
+            ItemStack[] items = new ItemStack[ToolInventoryIndex.SLOT_COUNT];
+
+            for (int slot = 0; slot < items.length; slot++) {
+                String kind = kinds[slot % kinds.length];
+                Material type = kind.equals("SHEARS")
+                        ? Material.valueOf(kind)
+                        : Material.valueOf(tiers[(slot / kinds.length) % tiers.length] + "_" + kind);
+
+                Map<Enchantment, Integer> levels = new HashMap<>();
+                for (Enchantment enchantment : enchantments) {
+                    if (random.nextInt(3) == 0) {
+                        levels.put(enchantment, 1 + random.nextInt(5));
+                    }
+                }
+
+                int damage = random.nextInt(Math.max(1, type.getMaxDurability()));
+                items[slot] = StandIns.item(type, damage, levels);
+            }
+            return items;
+        }
+    },
+
+    /**
+     * 36 identical Efficiency V / Fortune III / Unbreaking III diamond pickaxes:
+     * every slot is a candidate and every score ties
+     */
+    IDENTICAL_PICKAXES {
+        @Override
+        ItemStack[] create() {
+            Map<Enchantment, Integer> levels = new HashMap<>();
+            levels.put(Enchantment.DIG_SPEED, 5);
+            levels.put(Enchantment.LOOT_BONUS_BLOCKS, 3);
+            levels.put(Enchantment.DURABILITY, 3);
+
+            ItemStack[] items = new ItemStack[ToolInventoryIndex.SLOT_COUNT];
+            for (int slot = 0; slot < items.length; slot++) {
+                items[slot] = StandIns.item(Material.DIAMOND_PICKAXE, 100, levels);
+            }
+            return items;
+        }
+    };
+
+    abstract ItemStack[] create();
+}
@@ -0,0 +1,96 @@
+package org.nguyendevs.simpleautotools.benchmark;
+
+import org.bukkit.Material;
+import org.bukkit.entity.EntityType;
+import org.bukkit.inventory.PlayerInventory;
+import org.nguyendevs.simpleautotools.config.ConfigSnapshot;
+import org.nguyendevs.simpleautotools.managers.PriorityProfile;
+import org.nguyendevs.simpleautotools.managers.SelectionCache;
+import org.nguyendevs.simpleautotools.managers.ToolInventoryIndex;
+import org.nguyendevs.simpleautotools.managers.ToolSelection;
+import org.nguyendevs.simpleautotools.managers.ToolSelector;
+import org.nguyendevs.simpleautotools.testing.Fixtures;
+import org.nguyendevs.simpleautotools.testing.StandInServer;
+import org.nguyendevs.simpleautotools.testing.StandIns;
+import org.nguyendevs.simpleautotools.utils.TagBasedToolUtils;
+import org.nguyendevs.simpleautotools.utils.ToolType;
+import org.nguyendevs.simpleautotools.utils.WeaponStats;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Steady state of a selection: unchanged inventory, warm selection cache
+ * (what RefactoredToolSwitchManager does for every dig and hit after the first)
+ *
+ * Run by the jmhAllocationCheck task with the gc profiler; any allocation
+ * per operation here fails that task. SteadyStateAllocationTest checks the
+ * same paths as part of the regular tests.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SteadyStateSelectionBenchmark {
+
+    @Param({"EMPTY", "MIXED", "IDENTICAL_PICKAXES"})
+    public InventoryLayout layout;
+
+    private PlayerInventory inventory;
+    private ToolInventoryIndex index;
+    private ConfigSnapshot config;
+    private PriorityProfile profile;
+    private int blockKey;
+    private int weaponCategory;
+
+    @Setup
+    public void setup() {
+        StandInServer.install();
+
+        inventory = StandIns.inventory(layout.create());
+        index = new ToolInventoryIndex();
+        index.refresh(inventory);
+        config = Fixtures.config(true);
+        profile = Fixtures.profile();
+        blockKey = TagBasedToolUtils.getBlockClassification(Material.DIAMOND_ORE);
+        weaponCategory = WeaponStats.getCategory(EntityType.ZOMBIE);
+    }
+
+    @Benchmark
+    public ToolSelection cachedTool() {
+        index.refresh(inventory);
+
+        SelectionCache cache = index.getSelectionCache();
+        ToolSelection selection = cache.get(index.getSelectionVersion(), 0, profile, blockKey);
+        if (selection == SelectionCache.MISS) {
+            selection = ToolSelector.selectTool(index, config, profile, ToolType.PICKAXE, Material.DIAMOND_ORE, 0);
+            cache.put(blockKey, selection);
+        }
+        return selection;
+    }
+
+    @Benchmark
+    public ToolSelection cachedWeapon() {
+        index.refresh(inventory);
+
+        SelectionCache cache = index.getSelectionCache();
+        ToolSelection selection = cache.get(index.getSelectionVersion(), 0, profile, ~weaponCategory);
+        if (selection == SelectionCache.MISS) {
+            selection = ToolSelector.selectWeapon(index, config, profile, weaponCategory);
+            cache.put(~weaponCategory, selection);
+        }
+        return selection;
+    }
+}
@@ -0,0 +1,70 @@
+package org.nguyendevs.simpleautotools.benchmark;
+
+import org.bukkit.Material;
+import org.nguyendevs.simpleautotools.config.ConfigSnapshot;
+import org.nguyendevs.simpleautotools.managers.PriorityProfile;
+import org.nguyendevs.simpleautotools.managers.ToolInventoryIndex;
+import org.nguyendevs.simpleautotools.managers.ToolSelection;
+import org.nguyendevs.simpleautotools.managers.ToolSelector;
+import org.nguyendevs.simpleautotools.testing.Fixtures;
+import org.nguyendevs.simpleautotools.testing.StandInServer;
+import org.nguyendevs.simpleautotools.testing.StandIns;
+import org.nguyendevs.simpleautotools.utils.ToolType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of picking the best pickaxe out of an already indexed inventory
+ * (the uncached path of RefactoredToolSwitchManager#findBestTool)
+ *
+ * GLASS is not pickaxe-mineable, so the plugin would stop at the classifier;
+ * it is scored as a pickaxe block here to exercise the Silk Touch tiebreaker,
+ * while DIAMOND_ORE exercises Fortune and the harvest-level check.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ToolSelectionBenchmark {
+
+    @Param({"EMPTY", "MIXED", "IDENTICAL_PICKAXES"})
+    public InventoryLayout layout;
+
+    @Param({"DIAMOND_ORE", "GLASS"})
+    public Material block;
+
+    @Param({"true", "false"})
+    public boolean smartEnchantment;
+
+    private ToolInventoryIndex index;
+    private ConfigSnapshot config;
+    private PriorityProfile profile;
+
+    @Setup
+    public void setup() {
+        StandInServer.install();
+
+        index = new ToolInventoryIndex();
+        index.refresh(StandIns.inventory(layout.create()));
+        config = Fixtures.config(smartEnchantment);
+        profile = Fixtures.profile();
+    }
+
+    @Benchmark
+    public ToolSelection selectTool() {
+        return ToolSelector.selectTool(index, config, profile, ToolType.PICKAXE, block, 0);
+    }
+}
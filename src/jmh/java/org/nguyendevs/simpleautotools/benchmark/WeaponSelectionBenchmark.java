@@ -0,0 +1,75 @@
+package org.nguyendevs.simpleautotools.benchmark;
+
+import org.bukkit.entity.EntityType;
+import org.bukkit.inventory.PlayerInventory;
+import org.nguyendevs.simpleautotools.config.ConfigSnapshot;
+import org.nguyendevs.simpleautotools.managers.PriorityProfile;
+import org.nguyendevs.simpleautotools.managers.ToolInventoryIndex;
+import org.nguyendevs.simpleautotools.managers.ToolSelection;
+import org.nguyendevs.simpleautotools.managers.ToolSelector;
+import org.nguyendevs.simpleautotools.testing.Fixtures;
+import org.nguyendevs.simpleautotools.testing.StandInServer;
+import org.nguyendevs.simpleautotools.testing.StandIns;
+import org.nguyendevs.simpleautotools.utils.WeaponStats;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of weapon selection (RefactoredToolSwitchManager#findBestWeapon)
+ * and of re-reading every slot into the index after a full invalidation
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WeaponSelectionBenchmark {
+
+    @Param({"EMPTY", "MIXED", "IDENTICAL_PICKAXES"})
+    public InventoryLayout layout;
+
+    @Param({"ZOMBIE", "SPIDER", "COW"})
+    public EntityType target;
+
+    private PlayerInventory inventory;
+    private ToolInventoryIndex index;
+    private ConfigSnapshot config;
+    private PriorityProfile profile;
+    private int category;
+
+    @Setup
+    public void setup() {
+        StandInServer.install();
+
+        inventory = StandIns.inventory(layout.create());
+        index = new ToolInventoryIndex();
+        index.refresh(inventory);
+        config = Fixtures.config(true);
+        profile = Fixtures.profile();
+        category = WeaponStats.getCategory(target);
+    }
+
+    @Benchmark
+    public ToolSelection selectWeapon() {
+        return ToolSelector.selectWeapon(index, config, profile, category);
+    }
+
+    @Benchmark
+    public long rescanInventory() {
+        index.markAllDirty();
+        index.refresh(inventory);
+        return index.getVersion();
+    }
+}
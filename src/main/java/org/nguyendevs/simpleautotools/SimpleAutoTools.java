@@ -6,11 +6,27 @@ import org.bukkit.plugin.java.JavaPlugin;
 import org.nguyendevs.simpleautotools.commands.AutoToolCommand;
 import org.nguyendevs.simpleautotools.config.ConfigManager;
 import org.nguyendevs.simpleautotools.config.LanguageManager;
+import org.nguyendevs.simpleautotools.managers.InventoryIndexManager;
+import org.nguyendevs.simpleautotools.managers.MiningSessionManager;
+import org.nguyendevs.simpleautotools.managers.HotbarSlotManager;
+import org.nguyendevs.simpleautotools.managers.PreHitSwitchManager;
+import org.nguyendevs.simpleautotools.managers.SelectionWorkerPool;
+import org.nguyendevs.simpleautotools.managers.SwapBackManager;
 import org.nguyendevs.simpleautotools.managers.PriorityManager;
 import org.nguyendevs.simpleautotools.data.DataManager;
 import org.nguyendevs.simpleautotools.listeners.EntityDamageListener;
+import org.nguyendevs.simpleautotools.listeners.InventoryListener;
+import org.nguyendevs.simpleautotools.listeners.MiningSessionListener;
+import org.nguyendevs.simpleautotools.listeners.PlayerConnectionListener;
 import org.nguyendevs.simpleautotools.listeners.PlayerInteractListener;
+import org.nguyendevs.simpleautotools.listeners.PreHitListener;
 import org.nguyendevs.simpleautotools.managers.RefactoredToolSwitchManager;
+import org.nguyendevs.simpleautotools.managers.SwitchRequestQueue;
+import org.nguyendevs.simpleautotools.metrics.ConfigReloadEvent;
+import org.nguyendevs.simpleautotools.metrics.MetricsManager;
+import org.nguyendevs.simpleautotools.scheduler.TaskScheduler;
+import org.nguyendevs.simpleautotools.utils.DigSpeedCalculator;
+import org.nguyendevs.simpleautotools.utils.TagBasedToolUtils;
 
 /**
  * SimpleAutoTools - Refactored version using Tag API
@@ -24,28 +40,55 @@ import org.nguyendevs.simpleautotools.managers.RefactoredToolSwitchManager;
 public final class SimpleAutoTools extends JavaPlugin {
 
     private static SimpleAutoTools instance;
+    private TaskScheduler taskScheduler;
     private ConfigManager configManager;
     private LanguageManager languageManager;
     private DataManager dataManager;
     private RefactoredToolSwitchManager toolSwitchManager;
     private PriorityManager priorityManager;
+    private InventoryIndexManager inventoryIndexManager;
+    private MiningSessionManager miningSessionManager;
+    private SwitchRequestQueue switchRequestQueue;
+    private PreHitSwitchManager preHitSwitchManager;
+    private SelectionWorkerPool selectionWorkerPool;
+    private HotbarSlotManager hotbarSlotManager;
+    private SwapBackManager swapBackManager;
+    private MetricsManager metricsManager;
 
     @Override
     public void onEnable() {
         instance = this;
 
+        // Main thread on Bukkit, per-region threads on Folia
+        this.taskScheduler = TaskScheduler.create(this);
+
         // Initialize managers (ToolBlockManager removed)
         this.configManager = new ConfigManager(this);
         this.languageManager = new LanguageManager(this);
         this.priorityManager = new PriorityManager(this);
         this.dataManager = new DataManager(this);
+        this.inventoryIndexManager = new InventoryIndexManager(this);
         this.toolSwitchManager = new RefactoredToolSwitchManager(this);
+        this.miningSessionManager = new MiningSessionManager(this);
+        this.switchRequestQueue = new SwitchRequestQueue(taskScheduler, toolSwitchManager);
+        this.preHitSwitchManager = new PreHitSwitchManager(this);
+        this.selectionWorkerPool = new SelectionWorkerPool(this);
+        this.hotbarSlotManager = new HotbarSlotManager();
+        this.swapBackManager = new SwapBackManager(this);
+        this.metricsManager = new MetricsManager(this);
 
         // Load configurations (tool-blocks.yml no longer needed)
         configManager.loadConfig();
         languageManager.loadLanguage();
         priorityManager.loadPriority();
         dataManager.loadData();
+        metricsManager.applyConfig();
+        selectionWorkerPool.applyConfig();
+        swapBackManager.applyConfig();
+
+        // Precompute block classification from the Tag API
+        TagBasedToolUtils.buildTables();
+        DigSpeedCalculator.buildTables();
 
         // Register listeners
         registerListeners();
@@ -66,8 +109,24 @@ public final class SimpleAutoTools extends JavaPlugin {
 
     @Override
     public void onDisable() {
+        if (switchRequestQueue != null) {
+            switchRequestQueue.stop();
+        }
+        if (metricsManager != null) {
+            metricsManager.stop();
+        }
+        if (selectionWorkerPool != null) {
+            selectionWorkerPool.stop();
+        }
+        if (swapBackManager != null) {
+            swapBackManager.stop();
+        }
+        // Writes PDC settings that would otherwise only be written by a queued task
         if (dataManager != null) {
-            dataManager.saveData();
+            dataManager.shutdown();
+        }
+        if (taskScheduler != null) {
+            taskScheduler.cancelTasks();
         }
 
         Bukkit.getConsoleSender().sendMessage(
@@ -79,6 +138,10 @@ public final class SimpleAutoTools extends JavaPlugin {
     private void registerListeners() {
         getServer().getPluginManager().registerEvents(new EntityDamageListener(this), this);
         getServer().getPluginManager().registerEvents(new PlayerInteractListener(this), this);
+        getServer().getPluginManager().registerEvents(new InventoryListener(this), this);
+        getServer().getPluginManager().registerEvents(new PlayerConnectionListener(this), this);
+        getServer().getPluginManager().registerEvents(new MiningSessionListener(this), this);
+        getServer().getPluginManager().registerEvents(new PreHitListener(this), this);
     }
 
     private void registerCommands() {
@@ -86,10 +149,25 @@ public final class SimpleAutoTools extends JavaPlugin {
     }
 
     public void reload() {
-        configManager.loadConfig();
-        languageManager.loadLanguage();
-        priorityManager.loadPriority();
-        dataManager.loadData();
+        ConfigReloadEvent event = ConfigReloadEvent.beginIfEnabled();
+        boolean success = false;
+        try {
+            configManager.loadConfig();
+            languageManager.loadLanguage();
+            priorityManager.loadPriority();
+            dataManager.restartFlushTask();
+            metricsManager.applyConfig();
+            selectionWorkerPool.applyConfig();
+            swapBackManager.applyConfig();
+            TagBasedToolUtils.buildTables();
+            DigSpeedCalculator.buildTables();
+            toolSwitchManager.invalidateCaches();
+            success = true;
+        } finally {
+            if (event != null) {
+                event.finish(success);
+            }
+        }
 
         Bukkit.getConsoleSender().sendMessage(
                 ChatColor.translateAlternateColorCodes('&',
@@ -102,6 +180,10 @@ public final class SimpleAutoTools extends JavaPlugin {
         return instance;
     }
 
+    public TaskScheduler getTaskScheduler() {
+        return taskScheduler;
+    }
+
     public ConfigManager getConfigManager() {
         return configManager;
     }
@@ -122,12 +204,44 @@ public final class SimpleAutoTools extends JavaPlugin {
         return priorityManager;
     }
 
+    public InventoryIndexManager getInventoryIndexManager() {
+        return inventoryIndexManager;
+    }
+
+    public MiningSessionManager getMiningSessionManager() {
+        return miningSessionManager;
+    }
+
+    public SwitchRequestQueue getSwitchRequestQueue() {
+        return switchRequestQueue;
+    }
+
+    public PreHitSwitchManager getPreHitSwitchManager() {
+        return preHitSwitchManager;
+    }
+
+    public SwapBackManager getSwapBackManager() {
+        return swapBackManager;
+    }
+
+    public HotbarSlotManager getHotbarSlotManager() {
+        return hotbarSlotManager;
+    }
+
+    public SelectionWorkerPool getSelectionWorkerPool() {
+        return selectionWorkerPool;
+    }
+
+    public MetricsManager getMetricsManager() {
+        return metricsManager;
+    }
+
     /**
      * Check if smart enchantment selection is enabled
      * This is used as a tiebreaker when tools have equal priority
      */
     public boolean isSmartEnchantmentEnabled() {
-        return configManager.getConfig().getBoolean("smart-enchantment-selection", true);
+        return configManager.isSmartEnchantmentEnabled();
     }
 
     // Logo display
@@ -6,10 +6,15 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
 import org.nguyendevs.simpleautotools.SimpleAutoTools;
+import org.nguyendevs.simpleautotools.managers.PriorityManager;
+import org.nguyendevs.simpleautotools.metrics.LatencyHistogram;
+import org.nguyendevs.simpleautotools.metrics.MetricsManager;
+import org.nguyendevs.simpleautotools.metrics.Phase;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 
 public class AutoToolCommand implements CommandExecutor, TabCompleter {
 
@@ -33,6 +38,18 @@ public class AutoToolCommand implements CommandExecutor, TabCompleter {
             case "toggle":
                 return handleToggle(sender, args);
 
+            case "stats":
+                return handleStats(sender, args);
+
+            case "swapback":
+                return handleSwapBack(sender);
+
+            case "profile":
+                return handleProfile(sender, args);
+
+            case "migrate":
+                return handleMigrate(sender);
+
             default:
                 sender.sendMessage(plugin.getLanguageManager().getMessage("prefix") + " " + "§7Use: §e/sat toggle");
                 return true;
@@ -56,6 +73,79 @@ public class AutoToolCommand implements CommandExecutor, TabCompleter {
         return true;
     }
 
+    private boolean handleStats(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("simpleautotools.stats")) {
+            sender.sendMessage(plugin.getLanguageManager().getMessage("prefix") + " " + plugin.getLanguageManager().getMessage("command.no-permission"));
+            return true;
+        }
+
+        MetricsManager metrics = plugin.getMetricsManager();
+        if (args.length > 1 && args[1].equalsIgnoreCase("reset")) {
+            metrics.reset();
+            sender.sendMessage(plugin.getLanguageManager().getMessage("prefix") + " " + plugin.getLanguageManager().getMessage("command.stats.reset"));
+            return true;
+        }
+
+        long hits = plugin.getToolSwitchManager().getCacheHits();
+        long misses = plugin.getToolSwitchManager().getCacheMisses();
+        long total = hits + misses;
+        String ratio = total == 0 ? "0.0" : String.format("%.1f", hits * 100.0 / total);
+
+        sender.sendMessage(plugin.getLanguageManager().getMessage("prefix") + " " + plugin.getLanguageManager().getMessage("command.stats.header"));
+        sender.sendMessage(plugin.getLanguageManager().getMessage("command.stats.cache",
+                "{hits}", String.valueOf(hits),
+                "{misses}", String.valueOf(misses),
+                "{ratio}", ratio));
+        sender.sendMessage(plugin.getLanguageManager().getMessage("command.stats.mining",
+                "{sessions}", String.valueOf(plugin.getMiningSessionManager().getSessionsStarted()),
+                "{skipped}", String.valueOf(plugin.getMiningSessionManager().getHitsSkipped())));
+        sender.sendMessage(plugin.getLanguageManager().getMessage("command.stats.requests",
+                "{requested}", String.valueOf(plugin.getSwitchRequestQueue().getRequested()),
+                "{coalesced}", String.valueOf(plugin.getSwitchRequestQueue().getCoalesced())));
+        sender.sendMessage(plugin.getLanguageManager().getMessage("command.stats.pre-hit",
+                "{traces}", String.valueOf(plugin.getPreHitSwitchManager().getRayTraces()),
+                "{throttled}", String.valueOf(plugin.getPreHitSwitchManager().getThrottled()),
+                "{switches}", String.valueOf(plugin.getPreHitSwitchManager().getSwitches())));
+        sender.sendMessage(plugin.getLanguageManager().getMessage("command.stats.hotbar",
+                "{pulls}", String.valueOf(plugin.getHotbarSlotManager().getPulls()),
+                "{avoided}", String.valueOf(plugin.getHotbarSlotManager().getSwapsAvoided())));
+        sender.sendMessage(plugin.getLanguageManager().getMessage("command.stats.swap-back",
+                "{restores}", String.valueOf(plugin.getSwapBackManager().getRestores()),
+                "{cancelled}", String.valueOf(plugin.getSwapBackManager().getCancelled())));
+        if (plugin.getSelectionWorkerPool().isEnabled()) {
+            sender.sendMessage(plugin.getLanguageManager().getMessage("command.stats.async",
+                    "{submitted}", String.valueOf(plugin.getSelectionWorkerPool().getSubmitted()),
+                    "{rejected}", String.valueOf(plugin.getSelectionWorkerPool().getRejected()),
+                    "{stale}", String.valueOf(plugin.getSelectionWorkerPool().getStale())));
+        }
+
+        if (!metrics.isEnabled()) {
+            sender.sendMessage(plugin.getLanguageManager().getMessage("command.stats.metrics-disabled"));
+            return true;
+        }
+
+        // Latency per phase, rates are per second since startup or the last reset
+        double elapsed = metrics.getElapsedSeconds();
+        sender.sendMessage(plugin.getLanguageManager().getMessage("command.stats.latency-header",
+                "{seconds}", String.valueOf((long) elapsed)));
+        for (Phase phase : Phase.values()) {
+            LatencyHistogram.Snapshot snapshot = metrics.snapshot(phase);
+            sender.sendMessage(plugin.getLanguageManager().getMessage("command.stats.phase",
+                    "{phase}", phase.getId(),
+                    "{count}", String.valueOf(snapshot.getCount()),
+                    "{rate}", String.format(Locale.ROOT, "%.1f", snapshot.getCount() / elapsed),
+                    "{p50}", micros(snapshot.getPercentileNanos(50)),
+                    "{p95}", micros(snapshot.getPercentileNanos(95)),
+                    "{p99}", micros(snapshot.getPercentileNanos(99))));
+        }
+
+        return true;
+    }
+
+    private static String micros(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1000.0);
+    }
+
     private boolean handleToggle(CommandSender sender, String[] args) {
         if (!(sender instanceof Player)) {
             sender.sendMessage(plugin.getLanguageManager().getMessage("prefix") + " " + plugin.getLanguageManager().getMessage("command.player-only"));
@@ -83,18 +173,126 @@ public class AutoToolCommand implements CommandExecutor, TabCompleter {
         return true;
     }
 
+    private boolean handleMigrate(CommandSender sender) {
+        if (!sender.hasPermission("simpleautotools.migrate")) {
+            sender.sendMessage(plugin.getLanguageManager().getMessage("prefix") + " " + plugin.getLanguageManager().getMessage("command.no-permission"));
+            return true;
+        }
+
+        sender.sendMessage(plugin.getLanguageManager().getMessage("prefix") + " " + plugin.getLanguageManager().getMessage("command.migrate.started"));
+
+        // Runs on the storage thread; replies go back to the sender's own thread
+        plugin.getDataManager().migrateFromYaml().whenComplete((count, error) -> {
+            if (error != null) {
+                plugin.getLogger().severe("Migration of playerdata.yml failed!");
+                error.printStackTrace();
+                reply(sender, plugin.getLanguageManager().getMessage("prefix") + " " + plugin.getLanguageManager().getMessage("command.migrate.error"));
+            } else if (count < 0) {
+                reply(sender, plugin.getLanguageManager().getMessage("prefix") + " " + plugin.getLanguageManager().getMessage("command.migrate.nothing"));
+            } else {
+                reply(sender, plugin.getLanguageManager().getMessage("prefix") + " " + plugin.getLanguageManager().getMessage("command.migrate.success",
+                        "{count}", String.valueOf(count)));
+            }
+        });
+
+        return true;
+    }
+
+    /**
+     * Send a message from any thread: players on the thread that owns them, everyone else on the global one
+     */
+    private void reply(CommandSender sender, String message) {
+        if (sender instanceof Player) {
+            plugin.getTaskScheduler().runForPlayer((Player) sender, () -> sender.sendMessage(message));
+        } else {
+            plugin.getTaskScheduler().runGlobal(() -> sender.sendMessage(message));
+        }
+    }
+
+    private boolean handleSwapBack(CommandSender sender) {
+        if (!(sender instanceof Player)) {
+            sender.sendMessage(plugin.getLanguageManager().getMessage("prefix") + " " + plugin.getLanguageManager().getMessage("command.player-only"));
+            return true;
+        }
+
+        Player player = (Player) sender;
+
+        if (!player.hasPermission("simpleautotools.swapback")) {
+            player.sendMessage(plugin.getLanguageManager().getMessage("prefix") + " " + plugin.getLanguageManager().getMessage("command.no-permission"));
+            return true;
+        }
+
+        boolean newStatus = !plugin.getDataManager().isSwapBackEnabled(player.getUniqueId());
+        plugin.getDataManager().setSwapBackEnabled(player.getUniqueId(), newStatus);
+
+        if (newStatus) {
+            player.sendMessage(plugin.getLanguageManager().getMessage("prefix") + " " + plugin.getLanguageManager().getMessage("command.swapback.enabled"));
+        } else {
+            plugin.getSwapBackManager().remove(player);
+            player.sendMessage(plugin.getLanguageManager().getMessage("prefix") + " " + plugin.getLanguageManager().getMessage("command.swapback.disabled"));
+        }
+
+        return true;
+    }
+
+    private boolean handleProfile(CommandSender sender, String[] args) {
+        if (!(sender instanceof Player)) {
+            sender.sendMessage(plugin.getLanguageManager().getMessage("prefix") + " " + plugin.getLanguageManager().getMessage("command.player-only"));
+            return true;
+        }
+
+        Player player = (Player) sender;
+
+        if (!player.hasPermission("simpleautotools.profile")) {
+            player.sendMessage(plugin.getLanguageManager().getMessage("prefix") + " " + plugin.getLanguageManager().getMessage("command.no-permission"));
+            return true;
+        }
+
+        PriorityManager priorities = plugin.getPriorityManager();
+        if (args.length < 2) {
+            int current = plugin.getDataManager().getProfileId(player.getUniqueId());
+            player.sendMessage(plugin.getLanguageManager().getMessage("prefix") + " " + plugin.getLanguageManager().getMessage("command.profile.current",
+                    "{profile}", priorities.getProfileName(current)));
+            player.sendMessage(plugin.getLanguageManager().getMessage("command.profile.list",
+                    "{profiles}", String.join(", ", priorities.getProfileNames())));
+            return true;
+        }
+
+        int id = priorities.getProfileId(args[1]);
+        if (id == -1) {
+            player.sendMessage(plugin.getLanguageManager().getMessage("prefix") + " " + plugin.getLanguageManager().getMessage("command.profile.unknown",
+                    "{profile}", args[1]));
+            return true;
+        }
+
+        // The player's selection cache is keyed on the profile and clears itself on the next lookup
+        plugin.getDataManager().setProfileId(player.getUniqueId(), id);
+        player.sendMessage(plugin.getLanguageManager().getMessage("prefix") + " " + plugin.getLanguageManager().getMessage("command.profile.set",
+                "{profile}", priorities.getProfileName(id)));
+
+        return true;
+    }
+
     @Override
     public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
         List<String> completions = new ArrayList<>();
 
         if (args.length == 1) {
-            List<String> commands = Arrays.asList("toggle", "reload");
+            List<String> commands = Arrays.asList("toggle", "swapback", "profile", "reload", "stats", "migrate");
 
             for (String cmd : commands) {
                 if (cmd.startsWith(args[0].toLowerCase())) {
                     completions.add(cmd);
                 }
             }
+        } else if (args.length == 2 && args[0].equalsIgnoreCase("stats") && "reset".startsWith(args[1].toLowerCase())) {
+            completions.add("reset");
+        } else if (args.length == 2 && args[0].equalsIgnoreCase("profile")) {
+            for (String name : plugin.getPriorityManager().getProfileNames()) {
+                if (name.startsWith(args[1].toLowerCase())) {
+                    completions.add(name);
+                }
+            }
         }
 
         return completions;
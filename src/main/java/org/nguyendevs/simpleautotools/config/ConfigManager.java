@@ -2,15 +2,20 @@ package org.nguyendevs.simpleautotools.config;
 
 import org.bukkit.configuration.file.FileConfiguration;
 import org.nguyendevs.simpleautotools.SimpleAutoTools;
+import org.nguyendevs.simpleautotools.config.ConfigSnapshot.Feature;
+import org.nguyendevs.simpleautotools.utils.DurabilityPriority;
 import org.nguyendevs.simpleautotools.utils.PriorityType;
 
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 public class ConfigManager {
 
     private final SimpleAutoTools plugin;
     private FileConfiguration config;
+    private volatile ConfigSnapshot snapshot;
 
     public ConfigManager(SimpleAutoTools plugin) {
         this.plugin = plugin;
@@ -20,20 +25,67 @@ public class ConfigManager {
         plugin.saveDefaultConfig();
         plugin.reloadConfig();
         this.config = plugin.getConfig();
+
+        // Compile everything up front, then publish in one step
+        this.snapshot = compile();
     }
 
-    // World settings
-    public List<String> getEnabledWorlds() {
-        return config.getStringList("enabled-worlds");
+    private ConfigSnapshot compile() {
+        EnumSet<Feature> features = EnumSet.noneOf(Feature.class);
+        if (config.getBoolean("features.auto-switch-blocks", true)) features.add(Feature.AUTO_SWITCH_BLOCKS);
+        if (config.getBoolean("features.auto-switch-entities", true)) features.add(Feature.AUTO_SWITCH_ENTITIES);
+        if (config.getBoolean("priority.material.enabled", true)) features.add(Feature.MATERIAL_PRIORITY);
+        if (config.getBoolean("priority.material.check-harvest-level", true)) features.add(Feature.CHECK_HARVEST_LEVEL);
+        if (config.getBoolean("search-locations.hotbar", true)) features.add(Feature.SEARCH_HOTBAR);
+        if (config.getBoolean("search-locations.inventory", true)) features.add(Feature.SEARCH_INVENTORY);
+        if (config.getBoolean("smart-enchantment-selection", true)) features.add(Feature.SMART_ENCHANTMENT);
+        if (config.getBoolean("debug.verify-inventory-index", false)) features.add(Feature.VERIFY_INVENTORY_INDEX);
+        if (config.getBoolean("debug.verify-selection", false)) features.add(Feature.VERIFY_SELECTION);
+        if (config.getBoolean("metrics.enabled", true)) features.add(Feature.METRICS);
+        if (config.getBoolean("pre-hit.enabled", false)) features.add(Feature.PRE_HIT_SWITCH);
+        if (config.getBoolean("async-selection.enabled", false)) features.add(Feature.ASYNC_SELECTION);
+        if (config.getBoolean("swap-back.enabled", true)) features.add(Feature.SWAP_BACK);
+
+        return new ConfigSnapshot(
+                config.getStringList("enabled-worlds"),
+                parsePriorityOrder(),
+                parseDurabilityPriority(),
+                features,
+                Math.max(1, config.getInt("storage.flush-interval-seconds", 30)),
+                Math.max(0, config.getInt("metrics.csv-dump-interval-seconds", 0)),
+                Math.max(0, config.getInt("pre-hit.throttle-ms", 150)),
+                Math.max(1, config.getInt("async-selection.threads", 2)),
+                parseToolSlots(),
+                Math.max(250, config.getInt("swap-back.idle-timeout-ms", 3000))
+        );
     }
 
-    public boolean isWorldEnabled(String worldName) {
-        List<String> enabledWorlds = getEnabledWorlds();
-        return enabledWorlds.isEmpty() || enabledWorlds.contains(worldName);
+    /**
+     * Read hotbar.tool-slots (1-9 as shown in game) into distinct slot indexes 0-8
+     */
+    private int[] parseToolSlots() {
+        boolean[] seen = new boolean[9];
+        List<Integer> slots = new ArrayList<>();
+
+        for (int slot : config.getIntegerList("hotbar.tool-slots")) {
+            if (slot < 1 || slot > 9) {
+                plugin.getLogger().warning("Invalid hotbar tool slot in config: " + slot + " (use 1-9)");
+                continue;
+            }
+            if (!seen[slot - 1]) {
+                seen[slot - 1] = true;
+                slots.add(slot - 1);
+            }
+        }
+
+        int[] result = new int[slots.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = slots.get(i);
+        }
+        return result;
     }
 
-    // Tool priority settings
-    public List<PriorityType> getPriorityOrder() {
+    private List<PriorityType> parsePriorityOrder() {
         List<String> orderStrings = config.getStringList("priority.order");
         List<PriorityType> order = new ArrayList<>();
 
@@ -58,43 +110,86 @@ public class ConfigManager {
         return order;
     }
 
-    public String getDurabilityPriority() {
-        return config.getString("priority.durability", "HIGH");
+    private DurabilityPriority parseDurabilityPriority() {
+        String value = config.getString("priority.durability", "HIGH");
+
+        try {
+            return DurabilityPriority.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Unknown durability priority in config: " + value);
+            return DurabilityPriority.NONE;
+        }
+    }
+
+    /**
+     * Current compiled configuration
+     * Read it once per event and use that instance for the whole event
+     */
+    public ConfigSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    // World settings
+    public Set<String> getEnabledWorlds() {
+        return snapshot.getEnabledWorlds();
+    }
+
+    public boolean isWorldEnabled(String worldName) {
+        return snapshot.isWorldEnabled(worldName);
+    }
+
+    // Tool priority settings
+    public List<PriorityType> getPriorityOrder() {
+        ConfigSnapshot current = snapshot;
+        List<PriorityType> order = new ArrayList<>(current.getPriorityCount());
+        for (int i = 0; i < current.getPriorityCount(); i++) {
+            order.add(current.getPriority(i));
+        }
+        return order;
+    }
+
+    public DurabilityPriority getDurabilityPriority() {
+        return snapshot.getDurabilityPriority();
     }
 
     public boolean isMaterialPriorityEnabled() {
-        return config.getBoolean("priority.material.enabled", true);
+        return snapshot.isEnabled(Feature.MATERIAL_PRIORITY);
     }
 
     public boolean isCheckHarvestLevelEnabled() {
-        return config.getBoolean("priority.material.check-harvest-level", true);
+        return snapshot.isEnabled(Feature.CHECK_HARVEST_LEVEL);
     }
 
     // Search locations
     public boolean searchInHotbar() {
-        return config.getBoolean("search-locations.hotbar", true);
+        return snapshot.isEnabled(Feature.SEARCH_HOTBAR);
     }
 
     public boolean searchInInventory() {
-        return config.getBoolean("search-locations.inventory", true);
+        return snapshot.isEnabled(Feature.SEARCH_INVENTORY);
     }
 
     // Features
     public boolean isAutoSwitchForBlocksEnabled() {
-        return config.getBoolean("features.auto-switch-blocks", true);
+        return snapshot.isEnabled(Feature.AUTO_SWITCH_BLOCKS);
     }
 
     public boolean isAutoSwitchForEntitiesEnabled() {
-        return config.getBoolean("features.auto-switch-entities", true);
+        return snapshot.isEnabled(Feature.AUTO_SWITCH_ENTITIES);
     }
 
     // Smart enchantment selection (NEW)
     // This is used as a tiebreaker, not a replacement for user priority
     public boolean isSmartEnchantmentEnabled() {
-        return config.getBoolean("smart-enchantment-selection", true);
+        return snapshot.isEnabled(Feature.SMART_ENCHANTMENT);
+    }
+
+    // Storage backend (YAML, SQLITE or PDC), only read on startup
+    public String getStorageType() {
+        return config.getString("storage.type", "YAML");
     }
 
     public FileConfiguration getConfig() {
         return config;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,135 @@
+package org.nguyendevs.simpleautotools.config;
+
+import org.nguyendevs.simpleautotools.utils.DurabilityPriority;
+import org.nguyendevs.simpleautotools.utils.PriorityType;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable, pre-parsed view of config.yml
+ * Built by ConfigManager on every (re)load and swapped in with a single volatile write,
+ * so event handlers never touch the YAML tree
+ */
+public final class ConfigSnapshot {
+
+    public enum Feature {
+        AUTO_SWITCH_BLOCKS,
+        AUTO_SWITCH_ENTITIES,
+        MATERIAL_PRIORITY,
+        CHECK_HARVEST_LEVEL,
+        SEARCH_HOTBAR,
+        SEARCH_INVENTORY,
+        SMART_ENCHANTMENT,
+        VERIFY_INVENTORY_INDEX,
+        VERIFY_SELECTION,
+        METRICS,
+        PRE_HIT_SWITCH,
+        ASYNC_SELECTION,
+        SWAP_BACK
+    }
+
+    private final Set<String> enabledWorlds;
+    private final PriorityType[] priorityOrder;
+    private final DurabilityPriority durabilityPriority;
+    private final EnumSet<Feature> features;
+    private final int flushIntervalSeconds;
+    private final int metricsDumpIntervalSeconds;
+    private final int preHitThrottleMillis;
+    private final int asyncSelectionThreads;
+    private final int[] toolSlots;
+    private final int swapBackIdleMillis;
+
+    public ConfigSnapshot(List<String> enabledWorlds, List<PriorityType> priorityOrder,
+                   DurabilityPriority durabilityPriority, EnumSet<Feature> features,
+                   int flushIntervalSeconds, int metricsDumpIntervalSeconds,
+                   int preHitThrottleMillis, int asyncSelectionThreads, int[] toolSlots,
+                   int swapBackIdleMillis) {
+        this.enabledWorlds = Collections.unmodifiableSet(new HashSet<>(enabledWorlds));
+        this.priorityOrder = priorityOrder.toArray(new PriorityType[0]);
+        this.durabilityPriority = durabilityPriority;
+        this.features = EnumSet.copyOf(features);
+        this.flushIntervalSeconds = flushIntervalSeconds;
+        this.metricsDumpIntervalSeconds = metricsDumpIntervalSeconds;
+        this.preHitThrottleMillis = preHitThrottleMillis;
+        this.asyncSelectionThreads = asyncSelectionThreads;
+        this.toolSlots = toolSlots.clone();
+        this.swapBackIdleMillis = swapBackIdleMillis;
+    }
+
+    public boolean isWorldEnabled(String worldName) {
+        return enabledWorlds.isEmpty() || enabledWorlds.contains(worldName);
+    }
+
+    public Set<String> getEnabledWorlds() {
+        return enabledWorlds;
+    }
+
+    public int getPriorityCount() {
+        return priorityOrder.length;
+    }
+
+    public PriorityType getPriority(int index) {
+        return priorityOrder[index];
+    }
+
+    public boolean hasPriority(PriorityType type) {
+        for (PriorityType priority : priorityOrder) {
+            if (priority == type) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public DurabilityPriority getDurabilityPriority() {
+        return durabilityPriority;
+    }
+
+    public boolean isEnabled(Feature feature) {
+        return features.contains(feature);
+    }
+
+    public int getFlushIntervalSeconds() {
+        return flushIntervalSeconds;
+    }
+
+    /**
+     * Seconds between metrics.csv dumps, 0 when disabled
+     */
+    public int getMetricsDumpIntervalSeconds() {
+        return metricsDumpIntervalSeconds;
+    }
+
+    /**
+     * Minimum time between two pre-hit target checks of one player
+     */
+    public int getPreHitThrottleMillis() {
+        return preHitThrottleMillis;
+    }
+
+    /**
+     * Worker threads used for tool scoring when ASYNC_SELECTION is enabled
+     */
+    public int getAsyncSelectionThreads() {
+        return asyncSelectionThreads;
+    }
+
+    /**
+     * Reserved hotbar slots (0-8) for tools pulled from the inventory, empty if none
+     * Shared array, callers must not modify it
+     */
+    public int[] getToolSlots() {
+        return toolSlots;
+    }
+
+    /**
+     * Idle time after the last selection before swap-back restores the previous slot
+     */
+    public int getSwapBackIdleMillis() {
+        return swapBackIdleMillis;
+    }
+}
@@ -0,0 +1,199 @@
+package org.nguyendevs.simpleautotools.data;
+
+import java.util.UUID;
+
+/**
+ * Compact UUID -> flags map holding only players whose settings differ from the defaults
+ *
+ * Open addressing over parallel primitive arrays (two longs and an int per
+ * entry) instead of a HashMap of PlayerData objects, so players who never
+ * changed anything cost nothing and the rest cost ~20 bytes each.
+ * All methods are synchronized; callers are the login threads, the main
+ * thread and the storage thread.
+ */
+class CompactPlayerStore {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long[] most = new long[INITIAL_CAPACITY];
+    private long[] least = new long[INITIAL_CAPACITY];
+    private int[] flags = new int[INITIAL_CAPACITY];
+    private boolean[] used = new boolean[INITIAL_CAPACITY];
+    private int size;
+
+    private final int defaultFlags;
+
+    CompactPlayerStore(int defaultFlags) {
+        this.defaultFlags = defaultFlags;
+    }
+
+    synchronized int get(UUID uuid) {
+        int index = indexOf(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        return index >= 0 ? flags[index] : defaultFlags;
+    }
+
+    /**
+     * Store the flags of a player; default flags remove the entry
+     */
+    synchronized void put(UUID uuid, int value) {
+        long msb = uuid.getMostSignificantBits();
+        long lsb = uuid.getLeastSignificantBits();
+        int index = indexOf(msb, lsb);
+
+        if (value == defaultFlags) {
+            if (index >= 0) {
+                remove(index);
+            }
+            return;
+        }
+
+        if (index >= 0) {
+            flags[index] = value;
+            return;
+        }
+
+        if ((size + 1) * 4 > used.length * 3) {
+            grow();
+            index = indexOf(msb, lsb);
+        }
+
+        int slot = -index - 1;
+        most[slot] = msb;
+        least[slot] = lsb;
+        flags[slot] = value;
+        used[slot] = true;
+        size++;
+    }
+
+    /**
+     * Store the flags of a player that has no entry yet
+     *
+     * @return false if the player already had one (nothing changes)
+     */
+    synchronized boolean putIfAbsent(UUID uuid, int value) {
+        if (indexOf(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()) >= 0) {
+            return false;
+        }
+        put(uuid, value);
+        return true;
+    }
+
+    synchronized void clear() {
+        most = new long[INITIAL_CAPACITY];
+        least = new long[INITIAL_CAPACITY];
+        flags = new int[INITIAL_CAPACITY];
+        used = new boolean[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Copy all entries out for writing, so the lock is not held during I/O
+     * Layout: uuids[2 * i] = most, uuids[2 * i + 1] = least, values[i] = flags
+     */
+    synchronized Entries snapshot() {
+        long[] uuids = new long[size * 2];
+        int[] values = new int[size];
+        int count = 0;
+
+        for (int i = 0; i < used.length; i++) {
+            if (!used[i]) continue;
+            uuids[count * 2] = most[i];
+            uuids[count * 2 + 1] = least[i];
+            values[count] = flags[i];
+            count++;
+        }
+
+        return new Entries(uuids, values);
+    }
+
+    private int indexOf(long msb, long lsb) {
+        int mask = used.length - 1;
+        int i = home(msb, lsb, mask);
+
+        while (used[i]) {
+            if (most[i] == msb && least[i] == lsb) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -i - 1;
+    }
+
+    private static int home(long msb, long lsb, int mask) {
+        long hash = msb ^ lsb;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return (int) hash & mask;
+    }
+
+    // Backward-shift deletion keeps probe chains intact without tombstones
+    private void remove(int index) {
+        int mask = used.length - 1;
+        used[index] = false;
+        size--;
+
+        int hole = index;
+        int next = (index + 1) & mask;
+        while (used[next]) {
+            int desired = home(most[next], least[next], mask);
+            boolean stays = hole <= next
+                    ? hole < desired && desired <= next
+                    : hole < desired || desired <= next;
+
+            if (!stays) {
+                most[hole] = most[next];
+                least[hole] = least[next];
+                flags[hole] = flags[next];
+                used[hole] = true;
+                used[next] = false;
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+    }
+
+    private void grow() {
+        long[] oldMost = most;
+        long[] oldLeast = least;
+        int[] oldFlags = flags;
+        boolean[] oldUsed = used;
+
+        int capacity = oldUsed.length * 2;
+        most = new long[capacity];
+        least = new long[capacity];
+        flags = new int[capacity];
+        used = new boolean[capacity];
+
+        for (int i = 0; i < oldUsed.length; i++) {
+            if (!oldUsed[i]) continue;
+            int slot = -indexOf(oldMost[i], oldLeast[i]) - 1;
+            most[slot] = oldMost[i];
+            least[slot] = oldLeast[i];
+            flags[slot] = oldFlags[i];
+            used[slot] = true;
+        }
+    }
+
+    static final class Entries {
+        final long[] uuids;
+        final int[] values;
+
+        Entries(long[] uuids, int[] values) {
+            this.uuids = uuids;
+            this.values = values;
+        }
+
+        int size() {
+            return values.length;
+        }
+
+        UUID uuid(int index) {
+            return new UUID(uuids[index * 2], uuids[index * 2 + 1]);
+        }
+    }
+}
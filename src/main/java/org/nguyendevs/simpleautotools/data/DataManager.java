@@ -1,78 +1,482 @@
 package org.nguyendevs.simpleautotools.data;
 
-import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
 import org.nguyendevs.simpleautotools.SimpleAutoTools;
+import org.nguyendevs.simpleautotools.metrics.DataSaveEvent;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Player preferences backed by a PlayerStorage (playerdata.yml or playerdata.db),
+ * or by each player's PersistentDataContainer (storage.type PDC)
+ *
+ * Only players whose settings differ from the defaults are stored, in a
+ * CompactPlayerStore. PlayerData objects exist for online players only: they
+ * are created on AsyncPlayerPreLoginEvent and evicted on quit once their
+ * state is merged back into the store.
+ *
+ * Changes only record which players changed; a background thread coalesces
+ * them and saves every storage.flush-interval-seconds. The storage is only
+ * used from that thread. The only synchronous write happens in shutdown().
+ *
+ * In PDC mode flags are read on join (or on the first lookup, if that comes
+ * earlier) and written on the player's thread after a change, and for everyone
+ * online in shutdown(); the store then only holds playerdata.yml entries not
+ * migrated yet. Each is moved to the player's PDC on their next login and the
+ * file is deleted once it is empty.
+ *
+ * Safe to call from any thread (region threads on Folia): the online map is
+ * concurrent, PlayerData flags are atomic and the store is synchronized.
+ */
 public class DataManager {
 
     private final SimpleAutoTools plugin;
-    private File dataFile;
-    private FileConfiguration dataConfig;
-    private Map<UUID, PlayerData> playerDataMap;
+    private volatile PlayerStorage storage;
+    private PdcPlayerStorage pdc;
+    private final CompactPlayerStore store;
+    private final Map<UUID, PlayerData> onlinePlayers;
+
+    // Players changed since the last successful save
+    private final Set<UUID> changed = ConcurrentHashMap.newKeySet();
+
+    private final ScheduledExecutorService executor;
+    private final Object writeLock = new Object();
+    private CompletableFuture<Void> loadFuture;
+    private ScheduledFuture<?> flushTask;
 
     public DataManager(SimpleAutoTools plugin) {
         this.plugin = plugin;
-        this.playerDataMap = new HashMap<>();
+        this.store = new CompactPlayerStore(PlayerData.DEFAULT_FLAGS);
+        this.onlinePlayers = new ConcurrentHashMap<>();
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "SimpleAutoTools-Storage");
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
+    /**
+     * Open the configured storage and start reading it on the storage thread
+     * Logins wait for it; the server startup does not
+     */
     public void loadData() {
-        dataFile = new File(plugin.getDataFolder(), "playerdata.yml");
+        String type = plugin.getConfigManager().getStorageType();
+        if (type.equalsIgnoreCase("PDC")) {
+            pdc = new PdcPlayerStorage(plugin);
+            // Left over entries are migrated on login, see loadPlayer(Player)
+            File legacy = new File(plugin.getDataFolder(), "playerdata.yml");
+            storage = legacy.exists() ? new YamlPlayerStorage(legacy, plugin.getLogger()) : null;
+        } else {
+            storage = createStorage(type);
+        }
+        loadFuture = storage != null
+                ? CompletableFuture.runAsync(this::readStorage, executor)
+                : CompletableFuture.completedFuture(null);
+
+        // Players already online (plugin loaded late) never fire a pre-login or join event
+        List<Player> online = new ArrayList<>(Bukkit.getOnlinePlayers());
+        if (pdc != null) {
+            for (Player player : online) {
+                plugin.getTaskScheduler().runForPlayer(player, () -> loadPlayer(player));
+            }
+        } else if (!online.isEmpty()) {
+            // Not joined here: this runs on the main thread. Until then they read the defaults
+            loadFuture.thenRun(() -> online.forEach(this::loadIfOnline));
+        }
+
+        restartFlushTask();
+    }
+
+    // Runs on the storage thread once the initial read is done
+    private void loadIfOnline(Player player) {
+        UUID uuid = player.getUniqueId();
+        if (!player.isOnline()) {
+            return;
+        }
+
+        onlinePlayers.computeIfAbsent(uuid, k -> PlayerData.fromFlags(uuid, store.get(uuid)));
+        // Quit in the meantime: the quit handler found nothing to evict
+        if (!player.isOnline()) {
+            onlinePlayers.remove(uuid);
+        }
+    }
+
+    private PlayerStorage createStorage(String type) {
+        if (type.equalsIgnoreCase("SQLITE")) {
+            if (SqlitePlayerStorage.isAvailable()) {
+                return new SqlitePlayerStorage(new File(plugin.getDataFolder(), "playerdata.db"), plugin.getLogger());
+            }
+            plugin.getLogger().severe("SQLite driver not found on this server, using playerdata.yml instead");
+        } else if (!type.equalsIgnoreCase("YAML")) {
+            plugin.getLogger().warning("Unknown storage type in config: " + type + ", using YAML");
+        }
+        return new YamlPlayerStorage(new File(plugin.getDataFolder(), "playerdata.yml"), plugin.getLogger());
+    }
+
+    private void readStorage() {
+        try {
+            storage.load(store);
+            if (pdc != null && store.size() == 0) {
+                retireLegacyFile();
+            }
+        } catch (IOException e) {
+            plugin.getLogger().severe("Could not load player data (" + storage.getName() + ")!");
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * (Re)schedule the background flush with the configured interval
+     */
+    public void restartFlushTask() {
+        if (flushTask != null) {
+            flushTask.cancel(false);
+        }
+
+        long interval = plugin.getConfigManager().getSnapshot().getFlushIntervalSeconds();
+        flushTask = executor.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Write pending changes, if any. Runs on the storage thread
+     * Returns false if the save failed and the changes are still pending
+     */
+    private boolean flush() {
+        if (changed.isEmpty()) {
+            return true;
+        }
+        if (storage == null) {
+            changed.clear();
+            return true;
+        }
+
+        synchronized (writeLock) {
+            CompactPlayerStore.Entries pending = drainChanges();
+            DataSaveEvent event = DataSaveEvent.beginIfEnabled();
 
-        if (!dataFile.exists()) {
             try {
-                dataFile.createNewFile();
+                long bytes = storage.save(store, pending);
+                if (event != null) {
+                    event.finish(pending.size(), bytes);
+                }
+                if (pdc != null && store.size() == 0) {
+                    retireLegacyFile();
+                }
+                return true;
             } catch (IOException e) {
-                plugin.getLogger().severe("Could not create playerdata.yml!");
+                // Keep the changes pending so the next flush retries
+                for (int i = 0; i < pending.size(); i++) {
+                    changed.add(pending.uuid(i));
+                }
+                plugin.getLogger().severe("Could not save player data (" + storage.getName() + ")!");
                 e.printStackTrace();
+                return false;
             }
         }
+    }
+
+    // PDC mode: every playerdata.yml entry has been moved to its player
+    private void retireLegacyFile() {
+        File file = ((YamlPlayerStorage) storage).getFile();
+        storage = null;
+        if (file.delete()) {
+            plugin.getLogger().info("All players migrated to PersistentDataContainer, removed playerdata.yml");
+        }
+    }
 
-        dataConfig = YamlConfiguration.loadConfiguration(dataFile);
+    // Take the changed players with their current flags
+    private CompactPlayerStore.Entries drainChanges() {
+        int capacity = changed.size();
+        long[] uuids = new long[capacity * 2];
+        int[] values = new int[capacity];
+        int count = 0;
+
+        Iterator<UUID> iterator = changed.iterator();
+        while (iterator.hasNext() && count < capacity) {
+            UUID uuid = iterator.next();
+            iterator.remove();
+            uuids[count * 2] = uuid.getMostSignificantBits();
+            uuids[count * 2 + 1] = uuid.getLeastSignificantBits();
+            values[count] = store.get(uuid);
+            count++;
+        }
+
+        if (count < capacity) {
+            long[] trimmedUuids = new long[count * 2];
+            int[] trimmedValues = new int[count];
+            System.arraycopy(uuids, 0, trimmedUuids, 0, trimmedUuids.length);
+            System.arraycopy(values, 0, trimmedValues, 0, count);
+            return new CompactPlayerStore.Entries(trimmedUuids, trimmedValues);
+        }
+        return new CompactPlayerStore.Entries(uuids, values);
+    }
 
-        // Load all player data
-        for (String key : dataConfig.getKeys(false)) {
+    /**
+     * Import playerdata.yml into the SQLite storage, once
+     * Runs on the storage thread; the file is renamed to playerdata.yml.migrated afterwards.
+     * Players that already have settings in playerdata.db keep them, see importAbsent().
+     * Completes with the number of imported players, or -1 if the storage is not SQLite
+     * or there is no playerdata.yml
+     */
+    public CompletableFuture<Integer> migrateFromYaml() {
+        return CompletableFuture.supplyAsync(() -> {
+            File file = new File(plugin.getDataFolder(), "playerdata.yml");
+            if (!(storage instanceof SqlitePlayerStorage) || !file.exists()) {
+                return -1;
+            }
+
+            CompactPlayerStore imported = new CompactPlayerStore(PlayerData.DEFAULT_FLAGS);
             try {
-                UUID uuid = UUID.fromString(key);
-                boolean enabled = dataConfig.getBoolean(key + ".enabled", true);
-                playerDataMap.put(uuid, new PlayerData(uuid, enabled));
-            } catch (IllegalArgumentException e) {
-                plugin.getLogger().warning("Invalid UUID in playerdata.yml: " + key);
+                new YamlPlayerStorage(file, plugin.getLogger()).load(imported);
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not read playerdata.yml", e);
+            }
+
+            int count = importAbsent(store, imported.snapshot(), changed, onlinePlayers.keySet());
+
+            if (!flush()) {
+                throw new IllegalStateException("Could not write the imported players to playerdata.db");
+            }
+
+            if (!file.renameTo(new File(plugin.getDataFolder(), "playerdata.yml.migrated"))) {
+                plugin.getLogger().warning("Could not rename playerdata.yml, delete it to avoid importing it again");
+            }
+            return count;
+        }, executor);
+    }
+
+    /**
+     * Add imported players that have no record yet to the store and mark them changed
+     * Rows in the store, pending changes and online players are newer than the file and
+     * are kept. A player who went back to the defaults has no row, so once that is flushed
+     * the file's values win for them.
+     *
+     * @return the number of players added
+     */
+    static int importAbsent(CompactPlayerStore store, CompactPlayerStore.Entries imported,
+                            Set<UUID> changed, Set<UUID> online) {
+        int count = 0;
+        for (int i = 0; i < imported.size(); i++) {
+            UUID uuid = imported.uuid(i);
+            if (changed.contains(uuid) || online.contains(uuid)) {
+                continue;
+            }
+            if (store.putIfAbsent(uuid, imported.values[i])) {
+                changed.add(uuid);
+                count++;
             }
         }
+        return count;
     }
 
+    /**
+     * Synchronously write all pending changes
+     * Blocks the calling thread, only meant for plugin shutdown
+     */
     public void saveData() {
-        for (Map.Entry<UUID, PlayerData> entry : playerDataMap.entrySet()) {
-            String path = entry.getKey().toString();
-            dataConfig.set(path + ".enabled", entry.getValue().isEnabled());
+        flush();
+    }
+
+    /**
+     * Stop the background writer and flush what is left
+     * Must run before the plugin's tasks are cancelled: in PDC mode a change is only
+     * written by a task, so every online player's flags are written here directly
+     */
+    public void shutdown() {
+        if (pdc != null) {
+            // The server is stopping or the plugin is being disabled, nothing else touches these players now
+            for (PlayerData data : onlinePlayers.values()) {
+                Player player = Bukkit.getPlayer(data.getUuid());
+                if (player != null) {
+                    pdc.write(player, data.toFlags());
+                }
+            }
+        } else {
+            for (PlayerData data : onlinePlayers.values()) {
+                store.put(data.getUuid(), data.toFlags());
+            }
         }
 
+        executor.shutdown();
         try {
-            dataConfig.save(dataFile);
-        } catch (IOException e) {
-            plugin.getLogger().severe("Could not save playerdata.yml!");
-            e.printStackTrace();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        saveData();
+        if (storage != null) {
+            storage.close();
+        }
+    }
+
+    /**
+     * Load a player's record into memory
+     * Called from AsyncPlayerPreLoginEvent, so waiting for the initial file read is fine
+     * Returns null in PDC mode: the container is only readable once the player is online,
+     * see loadPlayer(Player)
+     */
+    public PlayerData loadPlayer(UUID uuid) {
+        if (pdc != null) {
+            return null;
+        }
+
+        loadFuture.join();
+        return onlinePlayers.computeIfAbsent(uuid, k -> PlayerData.fromFlags(uuid, store.get(uuid)));
+    }
+
+    /**
+     * PDC mode: read the player's flags from their PersistentDataContainer
+     * Called on join, or by the first lookup if that comes earlier, from the player's thread.
+     * Returns the player's record, or null in the other modes
+     */
+    public PlayerData loadPlayer(Player player) {
+        if (pdc == null) {
+            return null;
+        }
+
+        UUID uuid = player.getUniqueId();
+        PlayerData loaded = onlinePlayers.get(uuid);
+        if (loaded != null) {
+            return loaded;
+        }
+
+        int flags = pdc.read(player);
+        if (flags == PdcPlayerStorage.ABSENT) {
+            // First login since switching to PDC: take over the playerdata.yml entry, if any
+            if (loadFuture.isDone()) {
+                flags = migrateLegacy(player);
+            } else {
+                // Never wait for the file on the player's thread; they use the defaults until it is read
+                flags = PlayerData.DEFAULT_FLAGS;
+                loadFuture.thenRun(() -> plugin.getTaskScheduler().runForPlayer(player, () -> migrateLater(player)));
+            }
+        }
+
+        PlayerData data = PlayerData.fromFlags(uuid, flags);
+        PlayerData existing = onlinePlayers.putIfAbsent(uuid, data);
+        return existing != null ? existing : data;
+    }
+
+    // Move the player's playerdata.yml entry, if any, into their container
+    private int migrateLegacy(Player player) {
+        UUID uuid = player.getUniqueId();
+        int flags = store.get(uuid);
+        pdc.write(player, flags);
+        dropLegacy(uuid, flags);
+        return flags;
+    }
+
+    // The legacy file was still being read when the player joined
+    private void migrateLater(Player player) {
+        if (!player.isOnline()) {
+            return;
+        }
+
+        UUID uuid = player.getUniqueId();
+        if (pdc.read(player) != PdcPlayerStorage.ABSENT) {
+            // Changed a setting in the meantime, which wins over the old entry
+            dropLegacy(uuid, store.get(uuid));
+            return;
+        }
+
+        int flags = migrateLegacy(player);
+        onlinePlayers.computeIfPresent(uuid, (k, old) -> PlayerData.fromFlags(uuid, flags));
+    }
+
+    private void dropLegacy(UUID uuid, int flags) {
+        if (flags != PlayerData.DEFAULT_FLAGS) {
+            store.put(uuid, PlayerData.DEFAULT_FLAGS);
+            changed.add(uuid);
+        }
+    }
+
+    /**
+     * Evict a player's record; its state stays in the store until the next flush writes it
+     */
+    public void unloadPlayer(UUID uuid) {
+        PlayerData data = onlinePlayers.remove(uuid);
+        if (data != null && pdc == null) {
+            store.put(uuid, data.toFlags());
         }
     }
 
+    /**
+     * Get an online player's record, or a detached copy of the stored flags for anyone else
+     * The copy is never cached, so looking up offline players does not keep them in memory
+     * In PDC mode online players must be looked up from their own thread
+     */
     public PlayerData getPlayerData(UUID uuid) {
-        return playerDataMap.computeIfAbsent(uuid, k -> new PlayerData(uuid, true));
+        PlayerData data = onlinePlayers.get(uuid);
+        if (data != null) {
+            return data;
+        }
+
+        if (pdc != null) {
+            // Looked up before the join handler ran; the container is readable once the player is online
+            Player player = Bukkit.getPlayer(uuid);
+            if (player != null) {
+                return loadPlayer(player);
+            }
+        }
+        return PlayerData.fromFlags(uuid, store.get(uuid));
     }
 
     public void setPlayerEnabled(UUID uuid, boolean enabled) {
         PlayerData data = getPlayerData(uuid);
-        data.setEnabled(enabled);
-        saveData();
+        persist(uuid, data.setFlag(PlayerData.FLAG_ENABLED, enabled));
     }
 
     public boolean isPlayerEnabled(UUID uuid) {
         return getPlayerData(uuid).isEnabled();
     }
-}
\ No newline at end of file
+
+    public void setSwapBackEnabled(UUID uuid, boolean enabled) {
+        PlayerData data = getPlayerData(uuid);
+        persist(uuid, data.setFlag(PlayerData.FLAG_SWAP_BACK, enabled));
+    }
+
+    public boolean isSwapBackEnabled(UUID uuid) {
+        return getPlayerData(uuid).isSwapBack();
+    }
+
+    public void setProfileId(UUID uuid, int profileId) {
+        PlayerData data = getPlayerData(uuid);
+        persist(uuid, data.setProfileId(profileId));
+    }
+
+    public int getProfileId(UUID uuid) {
+        return getPlayerData(uuid).getProfileId();
+    }
+
+    // PDC mode writes to the online player on their thread, the other modes go through the next flush
+    private void persist(UUID uuid, int flags) {
+        if (pdc != null) {
+            Player player = Bukkit.getPlayer(uuid);
+            if (player != null) {
+                // Later changes may be queued behind this one, so write whatever is current by then
+                plugin.getTaskScheduler().runForPlayer(player, () -> {
+                    PlayerData data = onlinePlayers.get(uuid);
+                    pdc.write(player, data != null ? data.toFlags() : flags);
+                });
+            }
+            return;
+        }
+
+        store.put(uuid, flags);
+        changed.add(uuid);
+    }
+}
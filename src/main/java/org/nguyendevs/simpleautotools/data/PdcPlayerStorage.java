@@ -0,0 +1,34 @@
+package org.nguyendevs.simpleautotools.data;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Player;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Player flags kept in the player's own PersistentDataContainer
+ *
+ * Saved with the player file by the server, so the plugin does no file I/O
+ * for them. Only usable while the player is online, from the thread owning
+ * the player.
+ */
+class PdcPlayerStorage {
+
+    // Returned by read() for players that never had their flags stored
+    static final int ABSENT = -1;
+
+    private final NamespacedKey key;
+
+    PdcPlayerStorage(Plugin plugin) {
+        this.key = new NamespacedKey(plugin, "flags");
+    }
+
+    int read(Player player) {
+        Integer flags = player.getPersistentDataContainer().get(key, PersistentDataType.INTEGER);
+        return flags != null ? flags : ABSENT;
+    }
+
+    void write(Player player, int flags) {
+        player.getPersistentDataContainer().set(key, PersistentDataType.INTEGER, flags);
+    }
+}
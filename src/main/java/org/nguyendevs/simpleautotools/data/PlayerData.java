@@ -1,15 +1,40 @@
 package org.nguyendevs.simpleautotools.data;
 
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class PlayerData {
 
+    // Bit flags used by the storage layer
+    public static final int FLAG_ENABLED = 1;
+    public static final int FLAG_SWAP_BACK = 1 << 1;
+    public static final int DEFAULT_FLAGS = FLAG_ENABLED;
+
+    // Priority profile id (0 = default) in bits 8-31, a hash of the profile name (PriorityManager#idOf)
+    public static final int MAX_PROFILE_ID = 0xFFFFFF;
+    private static final int PROFILE_SHIFT = 8;
+    private static final int PROFILE_MASK = MAX_PROFILE_ID << PROFILE_SHIFT;
+
     private final UUID uuid;
-    private boolean enabled;
+
+    // Read and updated from region threads, login threads and the storage thread
+    private final AtomicInteger flags;
 
     public PlayerData(UUID uuid, boolean enabled) {
+        this(uuid, enabled ? FLAG_ENABLED : 0);
+    }
+
+    private PlayerData(UUID uuid, int flags) {
         this.uuid = uuid;
-        this.enabled = enabled;
+        this.flags = new AtomicInteger(flags);
+    }
+
+    public static PlayerData fromFlags(UUID uuid, int flags) {
+        return new PlayerData(uuid, flags);
+    }
+
+    public int toFlags() {
+        return flags.get();
     }
 
     public UUID getUuid() {
@@ -17,10 +42,42 @@ public class PlayerData {
     }
 
     public boolean isEnabled() {
-        return enabled;
+        return (flags.get() & FLAG_ENABLED) != 0;
     }
 
     public void setEnabled(boolean enabled) {
-        this.enabled = enabled;
+        setFlag(FLAG_ENABLED, enabled);
+    }
+
+    /**
+     * Opted in to switching back after a mining or combat session
+     */
+    public boolean isSwapBack() {
+        return (flags.get() & FLAG_SWAP_BACK) != 0;
+    }
+
+    /**
+     * Id of the chosen priority profile (PriorityManager#getProfile), 0 for the default
+     */
+    public int getProfileId() {
+        return (flags.get() & PROFILE_MASK) >>> PROFILE_SHIFT;
+    }
+
+    public static int withProfile(int flags, int profileId) {
+        return (flags & ~PROFILE_MASK) | (profileId << PROFILE_SHIFT & PROFILE_MASK);
+    }
+
+    /**
+     * Atomically replace the profile id, returning the new flags
+     */
+    int setProfileId(int profileId) {
+        return flags.updateAndGet(current -> withProfile(current, profileId));
+    }
+
+    /**
+     * Atomically set or clear one flag, returning the new flags
+     */
+    int setFlag(int flag, boolean value) {
+        return flags.updateAndGet(current -> value ? current | flag : current & ~flag);
     }
-}
\ No newline at end of file
+}
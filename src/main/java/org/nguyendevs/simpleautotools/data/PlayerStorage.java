@@ -0,0 +1,34 @@
+package org.nguyendevs.simpleautotools.data;
+
+import java.io.IOException;
+
+/**
+ * Where DataManager persists the player flags
+ *
+ * Implementations are only called from the storage thread (and from
+ * shutdown once that thread has stopped), so they need no locking of their own.
+ */
+interface PlayerStorage {
+
+    /**
+     * Short name for log messages
+     */
+    String getName();
+
+    /**
+     * Read every stored player into the store
+     */
+    void load(CompactPlayerStore store) throws IOException;
+
+    /**
+     * Persist pending changes
+     *
+     * @param store   every player with non-default flags, for backends that rewrite everything
+     * @param changed players changed since the last successful save with their current flags;
+     *                default flags mean the record should be removed
+     * @return bytes written, or 0 if the backend cannot tell
+     */
+    long save(CompactPlayerStore store, CompactPlayerStore.Entries changed) throws IOException;
+
+    void close();
+}
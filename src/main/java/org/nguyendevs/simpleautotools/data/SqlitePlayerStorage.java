@@ -0,0 +1,145 @@
+package org.nguyendevs.simpleautotools.data;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/**
+ * Embedded SQLite file (playerdata.db), using the driver bundled with the server
+ *
+ * One row per player with non-default flags, keyed by the two halves of the
+ * UUID like CompactPlayerStore. Saves only touch the players that changed:
+ * one transaction, batched upserts and deletes through prepared statements.
+ */
+class SqlitePlayerStorage implements PlayerStorage {
+
+    private static final String DRIVER = "org.sqlite.JDBC";
+
+    private static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS player_settings ("
+            + "uuid_most INTEGER NOT NULL, "
+            + "uuid_least INTEGER NOT NULL, "
+            + "flags INTEGER NOT NULL, "
+            + "PRIMARY KEY (uuid_most, uuid_least)) WITHOUT ROWID";
+    private static final String SELECT_ALL = "SELECT uuid_most, uuid_least, flags FROM player_settings";
+    private static final String UPSERT = "INSERT INTO player_settings (uuid_most, uuid_least, flags) VALUES (?, ?, ?) "
+            + "ON CONFLICT (uuid_most, uuid_least) DO UPDATE SET flags = excluded.flags";
+    private static final String DELETE = "DELETE FROM player_settings WHERE uuid_most = ? AND uuid_least = ?";
+
+    private final File file;
+    private final Logger logger;
+    private Connection connection;
+    private PreparedStatement upsert;
+    private PreparedStatement delete;
+
+    SqlitePlayerStorage(File file, Logger logger) {
+        this.file = file;
+        this.logger = logger;
+    }
+
+    /**
+     * Check if the server ships the SQLite JDBC driver (Spigot, Paper and Folia do)
+     */
+    static boolean isAvailable() {
+        try {
+            Class.forName(DRIVER);
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "SQLite";
+    }
+
+    private Connection connection() throws SQLException {
+        if (connection == null || connection.isClosed()) {
+            connection = DriverManager.getConnection("jdbc:sqlite:" + file.getAbsolutePath());
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA journal_mode=WAL");
+                statement.execute("PRAGMA synchronous=NORMAL");
+                statement.execute(CREATE_TABLE);
+            }
+            upsert = connection.prepareStatement(UPSERT);
+            delete = connection.prepareStatement(DELETE);
+        }
+        return connection;
+    }
+
+    @Override
+    public void load(CompactPlayerStore store) throws IOException {
+        try (Statement statement = connection().createStatement();
+             ResultSet rows = statement.executeQuery(SELECT_ALL)) {
+            while (rows.next()) {
+                store.put(new UUID(rows.getLong(1), rows.getLong(2)), rows.getInt(3));
+            }
+        } catch (SQLException e) {
+            throw new IOException("Could not read " + file.getName(), e);
+        }
+    }
+
+    @Override
+    public long save(CompactPlayerStore store, CompactPlayerStore.Entries changed) throws IOException {
+        if (changed.size() == 0) {
+            return 0;
+        }
+
+        try {
+            Connection db = connection();
+            db.setAutoCommit(false);
+            try {
+                int defaults = PlayerData.DEFAULT_FLAGS;
+                for (int i = 0; i < changed.size(); i++) {
+                    long most = changed.uuids[i * 2];
+                    long least = changed.uuids[i * 2 + 1];
+
+                    if (changed.values[i] == defaults) {
+                        delete.setLong(1, most);
+                        delete.setLong(2, least);
+                        delete.addBatch();
+                    } else {
+                        upsert.setLong(1, most);
+                        upsert.setLong(2, least);
+                        upsert.setInt(3, changed.values[i]);
+                        upsert.addBatch();
+                    }
+                }
+
+                upsert.executeBatch();
+                delete.executeBatch();
+                db.commit();
+            } catch (SQLException e) {
+                db.rollback();
+                throw e;
+            } finally {
+                db.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new IOException("Could not write " + file.getName(), e);
+        }
+
+        return 0;
+    }
+
+    @Override
+    public void close() {
+        if (connection == null) {
+            return;
+        }
+
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            logger.warning("Could not close " + file.getName() + ": " + e.getMessage());
+        }
+        connection = null;
+    }
+}
@@ -0,0 +1,96 @@
+package org.nguyendevs.simpleautotools.data;
+
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/**
+ * playerdata.yml, rewritten whole on every save
+ *
+ * The file is written to a temp file first and then renamed, so a crash
+ * never leaves it half written.
+ */
+class YamlPlayerStorage implements PlayerStorage {
+
+    private final File file;
+    private final Logger logger;
+
+    YamlPlayerStorage(File file, Logger logger) {
+        this.file = file;
+        this.logger = logger;
+    }
+
+    @Override
+    public String getName() {
+        return "YAML";
+    }
+
+    File getFile() {
+        return file;
+    }
+
+    @Override
+    public void load(CompactPlayerStore store) throws IOException {
+        if (!file.exists()) {
+            file.createNewFile();
+        }
+
+        FileConfiguration dataConfig = YamlConfiguration.loadConfiguration(file);
+
+        for (String key : dataConfig.getKeys(false)) {
+            try {
+                UUID uuid = UUID.fromString(key);
+                int flags = 0;
+                if (dataConfig.getBoolean(key + ".enabled", true)) flags |= PlayerData.FLAG_ENABLED;
+                if (dataConfig.getBoolean(key + ".swap-back", false)) flags |= PlayerData.FLAG_SWAP_BACK;
+                flags = PlayerData.withProfile(flags, dataConfig.getInt(key + ".profile", 0));
+                store.put(uuid, flags);
+            } catch (IllegalArgumentException e) {
+                logger.warning("Invalid UUID in playerdata.yml: " + key);
+            }
+        }
+    }
+
+    @Override
+    public long save(CompactPlayerStore store, CompactPlayerStore.Entries changed) throws IOException {
+        CompactPlayerStore.Entries entries = store.snapshot();
+
+        YamlConfiguration snapshot = new YamlConfiguration();
+        for (int i = 0; i < entries.size(); i++) {
+            PlayerData data = PlayerData.fromFlags(entries.uuid(i), entries.values[i]);
+            snapshot.set(data.getUuid().toString() + ".enabled", data.isEnabled());
+            if (data.isSwapBack()) {
+                snapshot.set(data.getUuid().toString() + ".swap-back", true);
+            }
+            if (data.getProfileId() != 0) {
+                snapshot.set(data.getUuid().toString() + ".profile", data.getProfileId());
+            }
+        }
+
+        Path target = file.toPath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        byte[] bytes = snapshot.saveToString().getBytes(StandardCharsets.UTF_8);
+        Files.write(temp, bytes);
+
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        return bytes.length;
+    }
+
+    @Override
+    public void close() {
+    }
+}
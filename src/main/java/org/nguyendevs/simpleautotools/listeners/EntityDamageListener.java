@@ -6,6 +6,8 @@ import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.nguyendevs.simpleautotools.SimpleAutoTools;
+import org.nguyendevs.simpleautotools.metrics.MetricsManager;
+import org.nguyendevs.simpleautotools.metrics.Phase;
 
 public class EntityDamageListener implements Listener {
 
@@ -17,6 +19,13 @@ public class EntityDamageListener implements Listener {
 
     @EventHandler(priority = EventPriority.LOWEST)
     public void onEntityDamage(EntityDamageByEntityEvent event) {
+        MetricsManager metrics = plugin.getMetricsManager();
+        long start = metrics.start();
+        handleDamage(event);
+        metrics.record(Phase.DAMAGE_LISTENER, start);
+    }
+
+    private void handleDamage(EntityDamageByEntityEvent event) {
         if (event.isCancelled()) {
             return;
         }
@@ -33,10 +42,10 @@ public class EntityDamageListener implements Listener {
         }
 
         // Check if world is enabled
-        if (!plugin.getConfigManager().isWorldEnabled(player.getWorld().getName())) {
+        if (!plugin.getConfigManager().getSnapshot().isWorldEnabled(player.getWorld().getName())) {
             return;
         }
 
-        plugin.getToolSwitchManager().switchWeaponForEntity(player);
+        plugin.getSwitchRequestQueue().requestWeaponSwitch(player, event.getEntity().getType());
     }
 }
\ No newline at end of file
@@ -0,0 +1,155 @@
+package org.nguyendevs.simpleautotools.listeners;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityPickupItemEvent;
+import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.player.PlayerDropItemEvent;
+import org.bukkit.event.player.PlayerItemBreakEvent;
+import org.bukkit.event.player.PlayerItemDamageEvent;
+import org.bukkit.event.player.PlayerItemHeldEvent;
+import org.bukkit.event.player.PlayerItemMendEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerSwapHandItemsEvent;
+import org.bukkit.inventory.InventoryView;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.nguyendevs.simpleautotools.SimpleAutoTools;
+import org.nguyendevs.simpleautotools.managers.InventoryIndexManager;
+
+/**
+ * Keeps the per-player tool index in sync with inventory changes
+ * Events fire before the change is applied, so slots are only marked dirty
+ * here and re-read on the next selection
+ */
+public class InventoryListener implements Listener {
+
+    private final SimpleAutoTools plugin;
+
+    public InventoryListener(SimpleAutoTools plugin) {
+        this.plugin = plugin;
+    }
+
+    private InventoryIndexManager indexes() {
+        return plugin.getInventoryIndexManager();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        indexes().track(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        indexes().untrack(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryClick(InventoryClickEvent event) {
+        if (event.getWhoClicked() instanceof Player) {
+            // Shift-clicks, number keys and collect-to-cursor can touch any slot
+            indexes().markAllDirty((Player) event.getWhoClicked());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryDrag(InventoryDragEvent event) {
+        if (!(event.getWhoClicked() instanceof Player)) {
+            return;
+        }
+
+        Player player = (Player) event.getWhoClicked();
+        InventoryView view = event.getView();
+        int topSize = view.getTopInventory().getSize();
+
+        for (int rawSlot : event.getRawSlots()) {
+            if (rawSlot >= topSize) {
+                indexes().markDirty(player, view.convertSlot(rawSlot));
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onInventoryClose(InventoryCloseEvent event) {
+        if (event.getPlayer() instanceof Player) {
+            // Crafting grid and cursor items are returned to the inventory on close
+            indexes().markAllDirty((Player) event.getPlayer());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPickup(EntityPickupItemEvent event) {
+        if (event.getEntity() instanceof Player) {
+            indexes().markAllDirty((Player) event.getEntity());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onDrop(PlayerDropItemEvent event) {
+        Player player = event.getPlayer();
+        indexes().markDirty(player, player.getInventory().getHeldItemSlot());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onItemBreak(PlayerItemBreakEvent event) {
+        markHeldSlotIfHolding(event.getPlayer(), event.getBrokenItem());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onItemDamage(PlayerItemDamageEvent event) {
+        markHeldSlotIfHolding(event.getPlayer(), event.getItem());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onItemMend(PlayerItemMendEvent event) {
+        markHeldSlotIfHolding(event.getPlayer(), event.getItem());
+    }
+
+    /**
+     * Damage, mending and breaking also hit the offhand and armor, which are not indexed
+     * Only the main hand can be one of slots 0-35
+     */
+    private void markHeldSlotIfHolding(Player player, ItemStack item) {
+        PlayerInventory inventory = player.getInventory();
+        int heldSlot = inventory.getHeldItemSlot();
+        if (item != null && item.equals(inventory.getItem(heldSlot))) {
+            indexes().markDirty(player, heldSlot);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onHeldSlotChange(PlayerItemHeldEvent event) {
+        // Some clients resend the current slot; nothing changed, so neither the index nor a pending swap-back is touched
+        if (event.getPreviousSlot() == event.getNewSlot()) {
+            return;
+        }
+
+        indexes().markDirty(event.getPlayer(), event.getNewSlot());
+
+        // Only the client changes slots through this event; the player took over
+        plugin.getSwapBackManager().cancel(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onSwapHands(PlayerSwapHandItemsEvent event) {
+        Player player = event.getPlayer();
+        indexes().markDirty(player, player.getInventory().getHeldItemSlot());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onDeath(PlayerDeathEvent event) {
+        indexes().markAllDirty(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onRespawn(PlayerRespawnEvent event) {
+        indexes().markAllDirty(event.getPlayer());
+    }
+}
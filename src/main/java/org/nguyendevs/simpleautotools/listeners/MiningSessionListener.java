@@ -0,0 +1,70 @@
+package org.nguyendevs.simpleautotools.listeners;
+
+import org.bukkit.GameMode;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockDamageAbortEvent;
+import org.bukkit.event.block.BlockDamageEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.nguyendevs.simpleautotools.SimpleAutoTools;
+import org.nguyendevs.simpleautotools.metrics.MetricsManager;
+import org.nguyendevs.simpleautotools.metrics.Phase;
+
+/**
+ * Drives MiningSessionManager from the block digging events
+ */
+public class MiningSessionListener implements Listener {
+
+    private final SimpleAutoTools plugin;
+
+    public MiningSessionListener(SimpleAutoTools plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onBlockDamage(BlockDamageEvent event) {
+        MetricsManager metrics = plugin.getMetricsManager();
+        long start = metrics.start();
+        handleBlockDamage(event);
+        metrics.record(Phase.BLOCK_DAMAGE_LISTENER, start);
+    }
+
+    private void handleBlockDamage(BlockDamageEvent event) {
+        Player player = event.getPlayer();
+
+        // Ignore creative and spectator mode
+        if (player.getGameMode() == GameMode.CREATIVE || player.getGameMode() == GameMode.SPECTATOR) {
+            return;
+        }
+
+        // Check if player has auto-tool enabled
+        if (!plugin.getDataManager().isPlayerEnabled(player.getUniqueId())) {
+            return;
+        }
+
+        // Check if world is enabled
+        if (!plugin.getConfigManager().getSnapshot().isWorldEnabled(player.getWorld().getName())) {
+            return;
+        }
+
+        plugin.getMiningSessionManager().onDig(player, event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onBlockDamageAbort(BlockDamageAbortEvent event) {
+        plugin.getMiningSessionManager().endSession(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onBlockBreak(BlockBreakEvent event) {
+        plugin.getMiningSessionManager().endSession(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        plugin.getMiningSessionManager().remove(event.getPlayer());
+    }
+}
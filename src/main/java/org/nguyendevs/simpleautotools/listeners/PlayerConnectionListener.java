@@ -0,0 +1,55 @@
+package org.nguyendevs.simpleautotools.listeners;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerLoginEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.nguyendevs.simpleautotools.SimpleAutoTools;
+
+/**
+ * Loads player data before login (on join for storage.type PDC) and evicts it on quit
+ * Keeps memory proportional to online players
+ */
+public class PlayerConnectionListener implements Listener {
+
+    private final SimpleAutoTools plugin;
+
+    public PlayerConnectionListener(SimpleAutoTools plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            return;
+        }
+
+        // Runs off the main thread, so blocking on storage here is fine
+        plugin.getDataManager().loadPlayer(event.getUniqueId());
+    }
+
+    // Refused after pre-login (whitelist, full server): no quit event will evict the record
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onLogin(PlayerLoginEvent event) {
+        if (event.getResult() != PlayerLoginEvent.Result.ALLOWED) {
+            plugin.getDataManager().unloadPlayer(event.getPlayer().getUniqueId());
+        }
+    }
+
+    // Before any other listener can trigger a selection for this player
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onJoin(PlayerJoinEvent event) {
+        plugin.getDataManager().loadPlayer(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        plugin.getDataManager().unloadPlayer(event.getPlayer().getUniqueId());
+        plugin.getSwitchRequestQueue().remove(event.getPlayer());
+        plugin.getHotbarSlotManager().remove(event.getPlayer());
+        plugin.getSwapBackManager().remove(event.getPlayer());
+    }
+}
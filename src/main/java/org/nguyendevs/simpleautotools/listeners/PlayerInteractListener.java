@@ -9,6 +9,8 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.block.Action;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.nguyendevs.simpleautotools.SimpleAutoTools;
+import org.nguyendevs.simpleautotools.metrics.MetricsManager;
+import org.nguyendevs.simpleautotools.metrics.Phase;
 
 public class PlayerInteractListener implements Listener {
 
@@ -20,6 +22,13 @@ public class PlayerInteractListener implements Listener {
 
     @EventHandler(priority = EventPriority.LOWEST)
     public void onPlayerInteract(PlayerInteractEvent event) {
+        MetricsManager metrics = plugin.getMetricsManager();
+        long start = metrics.start();
+        handleInteract(event);
+        metrics.record(Phase.INTERACT_LISTENER, start);
+    }
+
+    private void handleInteract(PlayerInteractEvent event) {
         if (event.getAction() != Action.LEFT_CLICK_BLOCK) {
             return;
         }
@@ -42,11 +51,12 @@ public class PlayerInteractListener implements Listener {
         }
 
         // Check if world is enabled
-        if (!plugin.getConfigManager().isWorldEnabled(player.getWorld().getName())) {
+        if (!plugin.getConfigManager().getSnapshot().isWorldEnabled(player.getWorld().getName())) {
             return;
         }
 
         // Switch tool immediately when player starts mining
-        plugin.getToolSwitchManager().switchToolForBlock(player, block);
+        // The session tracker drops the BlockDamageEvent for the same hit and repeated clicks
+        plugin.getMiningSessionManager().onDig(player, block);
     }
 }
\ No newline at end of file
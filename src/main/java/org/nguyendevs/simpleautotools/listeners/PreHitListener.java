@@ -0,0 +1,77 @@
+package org.nguyendevs.simpleautotools.listeners;
+
+import org.bukkit.GameMode;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerAnimationEvent;
+import org.bukkit.event.player.PlayerAnimationType;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.nguyendevs.simpleautotools.SimpleAutoTools;
+import org.nguyendevs.simpleautotools.config.ConfigSnapshot;
+import org.nguyendevs.simpleautotools.config.ConfigSnapshot.Feature;
+import org.nguyendevs.simpleautotools.metrics.MetricsManager;
+import org.nguyendevs.simpleautotools.metrics.Phase;
+
+/**
+ * Feeds arm swings to PreHitSwitchManager
+ *
+ * Only the attack path pre-switches. Right-clicks on entities are left
+ * alone: the held item decides what they do (buckets, shears, leads, name
+ * tags, breeding food, trading), and swapping it away would break them.
+ */
+public class PreHitListener implements Listener {
+
+    private final SimpleAutoTools plugin;
+
+    public PreHitListener(SimpleAutoTools plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onArmSwing(PlayerAnimationEvent event) {
+        if (event.getAnimationType() != PlayerAnimationType.ARM_SWING) {
+            return;
+        }
+
+        MetricsManager metrics = plugin.getMetricsManager();
+        long start = metrics.start();
+
+        Player player = event.getPlayer();
+        ConfigSnapshot config = plugin.getConfigManager().getSnapshot();
+        if (isApplicable(player, config)) {
+            plugin.getPreHitSwitchManager().onSwing(player, config);
+        }
+
+        metrics.record(Phase.PRE_HIT_LISTENER, start);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        plugin.getPreHitSwitchManager().remove(event.getPlayer());
+    }
+
+    // Cheap checks first, the ray-trace only runs when all of them pass
+    private boolean isApplicable(Player player, ConfigSnapshot config) {
+        if (!config.isEnabled(Feature.PRE_HIT_SWITCH) || !config.isEnabled(Feature.AUTO_SWITCH_ENTITIES)) {
+            return false;
+        }
+
+        // Ignore creative and spectator mode
+        if (player.getGameMode() == GameMode.CREATIVE || player.getGameMode() == GameMode.SPECTATOR) {
+            return false;
+        }
+
+        if (!config.isWorldEnabled(player.getWorld().getName())) {
+            return false;
+        }
+
+        // Swings while breaking a block are not aimed at a mob
+        if (plugin.getMiningSessionManager().isMining(player)) {
+            return false;
+        }
+
+        return plugin.getDataManager().isPlayerEnabled(player.getUniqueId());
+    }
+}
@@ -0,0 +1,126 @@
+package org.nguyendevs.simpleautotools.managers;
+
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.nguyendevs.simpleautotools.config.ConfigSnapshot;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides where a tool pulled out of slots 9-35 lands in the hotbar
+ *
+ * Without reserved slots (hotbar.tool-slots empty) the tool is swapped into
+ * the main hand, as before. With reserved slots it goes to one of those
+ * instead: an empty one, else one without a tool, else the least recently
+ * used. The rest of the hotbar stays put and a tool pulled once is found in
+ * the hotbar next time: switching back to it is a held-slot change instead
+ * of another deep swap.
+ *
+ * State is per player and only touched by the thread owning that player.
+ */
+public class HotbarSlotManager {
+
+    private final Map<UUID, Placements> placements;
+
+    // Shown by /sat stats
+    private final LongAdder pulls = new LongAdder();
+    private final LongAdder swapsAvoided = new LongAdder();
+
+    public HotbarSlotManager() {
+        this.placements = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Pick the hotbar slot for a tool in slots 9-35
+     * Empty reserved slots come first, then ones holding something that is not a
+     * tool, then the least recently used one
+     *
+     * @param heldSlot returned when no slots are reserved
+     */
+    public int pickSlot(Player player, ToolInventoryIndex index, ConfigSnapshot config, int heldSlot) {
+        int[] reserved = config.getToolSlots();
+        if (reserved.length == 0) {
+            return heldSlot;
+        }
+
+        PlayerInventory inventory = player.getInventory();
+        int nonTool = -1;
+        for (int slot : reserved) {
+            ItemStack item = inventory.getItem(slot);
+            if (item == null || item.getType() == Material.AIR) {
+                return slot;
+            }
+            // The index only records tools
+            if (nonTool < 0 && index.getMaterial(slot) == null) {
+                nonTool = slot;
+            }
+        }
+        if (nonTool >= 0) {
+            return nonTool;
+        }
+
+        Placements state = placements(player);
+        int best = reserved[0];
+        for (int slot : reserved) {
+            if (state.lastUsed[slot] < state.lastUsed[best]) {
+                best = slot;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Record that a tool was pulled from the inventory into a hotbar slot
+     */
+    public void onPulled(Player player, int hotbarSlot) {
+        pulls.increment();
+        Placements state = placements(player);
+        state.pulled |= 1 << hotbarSlot;
+        state.lastUsed[hotbarSlot] = ++state.clock;
+    }
+
+    /**
+     * Record a plain held-slot switch
+     * Counts as a swap avoided if the slot holds a tool this manager pulled in earlier
+     */
+    public void onSelected(Player player, int hotbarSlot) {
+        Placements state = placements(player);
+        if ((state.pulled & (1 << hotbarSlot)) != 0) {
+            swapsAvoided.increment();
+        }
+        state.lastUsed[hotbarSlot] = ++state.clock;
+    }
+
+    public void remove(Player player) {
+        placements.remove(player.getUniqueId());
+    }
+
+    private Placements placements(Player player) {
+        Placements state = placements.get(player.getUniqueId());
+        if (state == null) {
+            state = new Placements();
+            placements.put(player.getUniqueId(), state);
+        }
+        return state;
+    }
+
+    public long getPulls() {
+        return pulls.sum();
+    }
+
+    public long getSwapsAvoided() {
+        return swapsAvoided.sum();
+    }
+
+    // Logical clock per hotbar slot; pulled has a bit per slot filled by onPulled
+    private static final class Placements {
+        private final long[] lastUsed = new long[9];
+        private long clock;
+        private int pulled;
+    }
+}
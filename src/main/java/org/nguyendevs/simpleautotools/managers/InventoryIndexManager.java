@@ -0,0 +1,79 @@
+package org.nguyendevs.simpleautotools.managers;
+
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.PlayerInventory;
+import org.nguyendevs.simpleautotools.SimpleAutoTools;
+import org.nguyendevs.simpleautotools.config.ConfigSnapshot.Feature;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Owns the per-player ToolInventoryIndex instances
+ * Listeners mark slots dirty here; selection asks for an up-to-date index
+ * Inventory changes without an event are picked up by a full rescan at most
+ * RESCAN_INTERVAL after they happen, or as soon as a selected slot turns out stale
+ * The map is concurrent; each index is only touched by the thread owning its player
+ */
+public class InventoryIndexManager {
+
+    // Commands and other plugins can change slots without firing any event
+    private static final long RESCAN_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(2);
+
+    private final SimpleAutoTools plugin;
+    private final Map<UUID, ToolInventoryIndex> indexes;
+
+    public InventoryIndexManager(SimpleAutoTools plugin) {
+        this.plugin = plugin;
+        this.indexes = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Get the player's index with all pending changes applied
+     */
+    public ToolInventoryIndex getIndex(Player player) {
+        ToolInventoryIndex index = indexes.computeIfAbsent(player.getUniqueId(), k -> new ToolInventoryIndex());
+        PlayerInventory inventory = player.getInventory();
+        if (System.nanoTime() - index.getLastFullRefresh() >= RESCAN_INTERVAL_NANOS) {
+            index.markAllDirty();
+        }
+        index.refresh(inventory);
+
+        // Consistency check mode: compare against a full scan
+        if (plugin.getConfigManager().getSnapshot().isEnabled(Feature.VERIFY_INVENTORY_INDEX)) {
+            int mismatch = index.findMismatch(inventory);
+            if (mismatch != -1) {
+                plugin.getLogger().warning("Tool index out of sync for " + player.getName()
+                        + " at slot " + mismatch + ", rebuilding");
+                index.markAllDirty();
+                index.refresh(inventory);
+            }
+        }
+
+        return index;
+    }
+
+    public void markDirty(Player player, int slot) {
+        ToolInventoryIndex index = indexes.get(player.getUniqueId());
+        if (index != null) {
+            index.markDirty(slot);
+        }
+    }
+
+    public void markAllDirty(Player player) {
+        ToolInventoryIndex index = indexes.get(player.getUniqueId());
+        if (index != null) {
+            index.markAllDirty();
+        }
+    }
+
+    public void track(Player player) {
+        indexes.put(player.getUniqueId(), new ToolInventoryIndex());
+    }
+
+    public void untrack(Player player) {
+        indexes.remove(player.getUniqueId());
+    }
+}
@@ -0,0 +1,106 @@
+package org.nguyendevs.simpleautotools.managers;
+
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.nguyendevs.simpleautotools.SimpleAutoTools;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tracks what each player is currently digging
+ *
+ * A session starts on the first hit of a block and ends when the block breaks
+ * or the player stops digging. The tool switch runs once when a session starts;
+ * further hits on the same block (repeated clicks, the interact and damage
+ * events of one hit) are skipped until the session ends. The block type is
+ * compared too, so a block replaced without a break or abort for this player
+ * (another player, a piston, a plugin) starts a new session.
+ */
+public class MiningSessionManager {
+
+    private final SimpleAutoTools plugin;
+    private final Map<UUID, MiningSession> sessions;
+
+    // Shown by /sat stats
+    private final LongAdder sessionsStarted = new LongAdder();
+    private final LongAdder hitsSkipped = new LongAdder();
+
+    public MiningSessionManager(SimpleAutoTools plugin) {
+        this.plugin = plugin;
+        this.sessions = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Called whenever a player hits a block
+     * Switches tools only if this starts a new session
+     */
+    public void onDig(Player player, Block block) {
+        MiningSession session = sessions.computeIfAbsent(player.getUniqueId(), k -> new MiningSession());
+        World world = block.getWorld();
+        long position = pack(block.getX(), block.getY(), block.getZ());
+        Material type = block.getType();
+
+        if (session.active && session.world == world && session.position == position && session.type == type) {
+            hitsSkipped.increment();
+            return;
+        }
+
+        session.world = world;
+        session.position = position;
+        session.type = type;
+        session.active = true;
+        sessionsStarted.increment();
+
+        plugin.getSwitchRequestQueue().requestBlockSwitch(player, block);
+    }
+
+    /**
+     * End the player's session (block broken or digging aborted)
+     * The next hit re-evaluates, even on the same block
+     */
+    public void endSession(Player player) {
+        MiningSession session = sessions.get(player.getUniqueId());
+        if (session != null) {
+            session.active = false;
+            session.world = null;
+            session.type = null;
+        }
+    }
+
+    public void remove(Player player) {
+        sessions.remove(player.getUniqueId());
+    }
+
+    /**
+     * Check if the player is still breaking a block; call from the player's thread
+     */
+    public boolean isMining(Player player) {
+        MiningSession session = sessions.get(player.getUniqueId());
+        return session != null && session.active;
+    }
+
+    public long getSessionsStarted() {
+        return sessionsStarted.sum();
+    }
+
+    public long getHitsSkipped() {
+        return hitsSkipped.sum();
+    }
+
+    // Same layout as vanilla BlockPos.asLong(): 26 bits x, 26 bits z, 12 bits y
+    private static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    private static final class MiningSession {
+        private World world;
+        private long position;
+        private Material type;
+        private boolean active;
+    }
+}
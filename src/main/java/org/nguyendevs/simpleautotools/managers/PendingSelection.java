@@ -0,0 +1,44 @@
+package org.nguyendevs.simpleautotools.managers;
+
+/**
+ * A tool selection being scored on the worker pool for a queued block request
+ *
+ * Remembers what the score was computed from. When the queue drains the
+ * request, the result is only used if the inventory, the config generation,
+ * the profile and the cache key are still the same; otherwise the selection
+ * is redone on current data.
+ */
+final class PendingSelection {
+
+    private final long version;
+    private final long generation;
+    private final PriorityProfile profile;
+    private final int key;
+
+    // Written by a worker, result is published by the volatile write to done
+    private ToolSelection result;
+    private volatile boolean done;
+
+    PendingSelection(long version, long generation, PriorityProfile profile, int key) {
+        this.version = version;
+        this.generation = generation;
+        this.profile = profile;
+        this.key = key;
+    }
+
+    void complete(ToolSelection result) {
+        this.result = result;
+        done = true;
+    }
+
+    /**
+     * The result if scoring finished and still applies, otherwise SelectionCache.MISS
+     */
+    ToolSelection resultFor(long version, long generation, PriorityProfile profile, int key) {
+        if (!done || this.version != version || this.generation != generation
+                || this.profile != profile || this.key != key) {
+            return SelectionCache.MISS;
+        }
+        return result;
+    }
+}
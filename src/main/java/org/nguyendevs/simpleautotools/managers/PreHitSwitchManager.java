@@ -0,0 +1,106 @@
+package org.nguyendevs.simpleautotools.managers;
+
+import org.bukkit.FluidCollisionMode;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.util.RayTraceResult;
+import org.nguyendevs.simpleautotools.SimpleAutoTools;
+import org.nguyendevs.simpleautotools.config.ConfigSnapshot;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Switches weapons on an arm swing at an entity, ahead of the next hit
+ *
+ * The client sends the swing after the attack itself, so the hit being swung
+ * is already computed with the old item; the damage event switch lands on the
+ * next tick anyway. What this adds is a switch without any hit at all: after a
+ * swing that missed, or between quick follow-up hits. On a swing it
+ * ray-traces (blocks and entities, survival reach) for the entity the player
+ * is aiming at and switches right away.
+ *
+ * Per-swing cost is bounded: each player gets at most one ray-trace per
+ * pre-hit.throttle-ms, every other swing costs one map lookup.
+ */
+public class PreHitSwitchManager {
+
+    // Survival attack reach in blocks
+    private static final double REACH = 3.0;
+
+    private final SimpleAutoTools plugin;
+    private final Map<UUID, long[]> lastCheck;
+
+    // Shown by /sat stats
+    private final LongAdder rayTraces = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder switches = new LongAdder();
+
+    public PreHitSwitchManager(SimpleAutoTools plugin) {
+        this.plugin = plugin;
+        this.lastCheck = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Arm swing: find the targeted entity, then switch for it
+     */
+    public void onSwing(Player player, ConfigSnapshot config) {
+        if (!acquire(player, config)) {
+            return;
+        }
+
+        rayTraces.increment();
+        Location eye = player.getEyeLocation();
+        RayTraceResult result = player.getWorld().rayTrace(eye, eye.getDirection(), REACH,
+                FluidCollisionMode.NEVER, true, 0.0,
+                entity -> entity != player && entity instanceof LivingEntity);
+
+        if (result != null && result.getHitEntity() != null) {
+            switchFor(player, result.getHitEntity());
+        }
+    }
+
+    public void remove(Player player) {
+        lastCheck.remove(player.getUniqueId());
+    }
+
+    // Throttle: true if this player may run a check now
+    private boolean acquire(Player player, ConfigSnapshot config) {
+        long now = System.nanoTime();
+        long[] last = lastCheck.get(player.getUniqueId());
+        if (last == null) {
+            // No capturing lambda, the common path must not allocate
+            last = new long[]{now - Long.MAX_VALUE / 2};
+            lastCheck.put(player.getUniqueId(), last);
+        }
+
+        if (now - last[0] < TimeUnit.MILLISECONDS.toNanos(config.getPreHitThrottleMillis())) {
+            throttled.increment();
+            return false;
+        }
+        last[0] = now;
+        return true;
+    }
+
+    private void switchFor(Player player, Entity target) {
+        switches.increment();
+        plugin.getToolSwitchManager().switchWeaponForEntity(player, target.getType());
+    }
+
+    public long getRayTraces() {
+        return rayTraces.sum();
+    }
+
+    public long getThrottled() {
+        return throttled.sum();
+    }
+
+    public long getSwitches() {
+        return switches.sum();
+    }
+}
@@ -1,9 +1,13 @@
 package org.nguyendevs.simpleautotools.managers;
 
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.enchantments.Enchantment;
 import org.nguyendevs.simpleautotools.SimpleAutoTools;
+import org.nguyendevs.simpleautotools.data.PlayerData;
+import org.nguyendevs.simpleautotools.utils.EnchantmentIds;
+import org.nguyendevs.simpleautotools.utils.PriorityType;
 import org.nguyendevs.simpleautotools.utils.ToolType;
 
 import java.io.File;
@@ -11,14 +15,31 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.*;
+import java.util.logging.Logger;
 
+/**
+ * Loads priority.yml: the enchantment order per tool type and the named
+ * profiles players can pick with /sat profile
+ *
+ * Every profile is compiled into a PriorityProfile and interned, so profiles
+ * with the same settings (and all players using them) share one instance.
+ * Players refer to a profile by an id derived from its name, so adding,
+ * removing or reordering profiles never moves a player to another one; a
+ * name that is gone resolves to the default. Id 0 is the default profile
+ * built from config.yml and the lists at the top of priority.yml.
+ */
 public class PriorityManager {
 
+    public static final String DEFAULT_PROFILE = "default";
+
     private final SimpleAutoTools plugin;
     private File priorityFile;
     private FileConfiguration priorityConfig;
     private Map<ToolType, List<Enchantment>> enchantmentPriorities;
 
+    // Rebuilt with a fresh intern table on every load
+    private volatile ProfileTable profiles;
+
     public PriorityManager(SimpleAutoTools plugin) {
         this.plugin = plugin;
         this.enchantmentPriorities = new EnumMap<>(ToolType.class);
@@ -44,21 +65,148 @@ public class PriorityManager {
         for (ToolType toolType : ToolType.values()) {
             if (toolType == ToolType.NONE) continue;
 
-            String path = toolType.name();
-            List<String> enchantNames = priorityConfig.getStringList(path);
-            List<Enchantment> enchants = new ArrayList<>();
+            enchantmentPriorities.put(toolType, parseEnchantments(priorityConfig.getStringList(toolType.name()),
+                    toolType.toString()));
+        }
+
+        compileProfiles();
+    }
+
+    private List<Enchantment> parseEnchantments(List<String> enchantNames, String context) {
+        List<Enchantment> enchants = new ArrayList<>();
+
+        for (String enchantName : enchantNames) {
+            Enchantment enchant = getEnchantmentByName(enchantName);
+            if (enchant != null) {
+                enchants.add(enchant);
+            } else {
+                plugin.getLogger().warning("Unknown enchantment in priority.yml: " + enchantName + " for " + context);
+            }
+        }
+
+        return enchants;
+    }
+
+    /**
+     * Compile the default profile and every profile under profiles:
+     * Sections may override the order and any tool type's list, the rest is inherited
+     */
+    private void compileProfiles() {
+        List<PriorityType> defaultOrder = plugin.getConfigManager().getPriorityOrder();
+        Map<PriorityProfile, PriorityProfile> interned = new HashMap<>();
+
+        PriorityProfile defaultProfile = intern(interned, compile(defaultOrder, enchantmentPriorities, DEFAULT_PROFILE, plugin.getLogger()));
+        // By id, so a name that hashes to a taken id is caught before it can shadow a profile
+        Map<Integer, String> names = new LinkedHashMap<>();
+        Map<Integer, PriorityProfile> compiled = new HashMap<>();
+        names.put(0, DEFAULT_PROFILE);
+        compiled.put(0, defaultProfile);
+
+        ConfigurationSection section = priorityConfig.getConfigurationSection("profiles");
+        if (section != null) {
+            for (String key : section.getKeys(false)) {
+                String name = key.toLowerCase(Locale.ROOT);
+                int id = idOf(name);
+                String taken = names.get(id);
+                if (taken != null) {
+                    plugin.getLogger().warning(taken.equals(name)
+                            ? "Duplicate profile in priority.yml, ignoring " + key
+                            : "Profile " + key + " in priority.yml has the same id as " + taken + ", rename one of them");
+                    continue;
+                }
+
+                // Broken entries stay selectable so players who picked them keep their choice
+                ConfigurationSection profile = section.getConfigurationSection(key);
+                if (profile == null) {
+                    plugin.getLogger().warning("Profile " + key + " in priority.yml is not a section, using the default");
+                    names.put(id, name);
+                    compiled.put(id, defaultProfile);
+                    continue;
+                }
 
-            for (String enchantName : enchantNames) {
-                Enchantment enchant = getEnchantmentByName(enchantName);
-                if (enchant != null) {
-                    enchants.add(enchant);
-                } else {
-                    plugin.getLogger().warning("Unknown enchantment in priority.yml: " + enchantName + " for " + toolType);
+                List<PriorityType> order = profile.contains("order")
+                        ? parseOrder(profile.getStringList("order"), key)
+                        : defaultOrder;
+                Map<ToolType, List<Enchantment>> lists = new EnumMap<>(enchantmentPriorities);
+                for (ToolType toolType : ToolType.values()) {
+                    if (toolType != ToolType.NONE && profile.contains(toolType.name())) {
+                        lists.put(toolType, parseEnchantments(profile.getStringList(toolType.name()),
+                                toolType + " in profile " + key));
+                    }
                 }
+
+                names.put(id, name);
+                compiled.put(id, intern(interned, compile(order, lists, key, plugin.getLogger())));
             }
+        }
 
-            enchantmentPriorities.put(toolType, enchants);
+        this.profiles = new ProfileTable(names, compiled);
+    }
+
+    /**
+     * Stable id for a profile name: 24 bits of its String hash, never 0 (the default profile)
+     * Stored in the player's flags, see PlayerData
+     */
+    static int idOf(String name) {
+        if (name.equals(DEFAULT_PROFILE)) {
+            return 0;
         }
+
+        int hash = name.hashCode();
+        int id = (hash ^ hash >>> 24) & PlayerData.MAX_PROFILE_ID;
+        return id != 0 ? id : 1;
+    }
+
+    static PriorityProfile intern(Map<PriorityProfile, PriorityProfile> interned, PriorityProfile profile) {
+        PriorityProfile existing = interned.putIfAbsent(profile, profile);
+        return existing != null ? existing : profile;
+    }
+
+    private List<PriorityType> parseOrder(List<String> orderStrings, String profile) {
+        List<PriorityType> order = new ArrayList<>();
+
+        for (String orderString : orderStrings) {
+            try {
+                PriorityType type = PriorityType.valueOf(orderString.toUpperCase());
+                if (!order.contains(type)) {
+                    order.add(type);
+                }
+            } catch (IllegalArgumentException e) {
+                plugin.getLogger().warning("Unknown priority type in profile " + profile + ": " + orderString);
+            }
+        }
+
+        return order.isEmpty() ? plugin.getConfigManager().getPriorityOrder() : order;
+    }
+
+    /**
+     * Compile priority lists into the enchantment id arrays used by ToolScorer
+     */
+    static PriorityProfile compile(List<PriorityType> order, Map<ToolType, List<Enchantment>> lists, String profile,
+                                   Logger logger) {
+        int[][] ranks = new int[ToolType.values().length][];
+
+        for (ToolType toolType : ToolType.values()) {
+            List<Enchantment> enchants = lists.getOrDefault(toolType, Collections.emptyList());
+            int[] ids = new int[Math.min(enchants.size(), ToolScorer.MAX_RANKED_ENCHANTMENTS)];
+            int count = 0;
+
+            for (Enchantment enchant : enchants) {
+                int id = EnchantmentIds.of(enchant);
+                if (id == -1) continue;
+
+                if (count == ids.length) {
+                    logger.warning("Only the first " + ToolScorer.MAX_RANKED_ENCHANTMENTS
+                            + " enchantments in priority.yml are ranked for " + toolType + " (" + profile + ")");
+                    break;
+                }
+                ids[count++] = id;
+            }
+
+            ranks[toolType.ordinal()] = Arrays.copyOf(ids, count);
+        }
+
+        return new PriorityProfile(order, ranks, lists);
     }
 
     public void savePriority() {
@@ -74,6 +222,72 @@ public class PriorityManager {
         return enchantmentPriorities.getOrDefault(toolType, Collections.emptyList());
     }
 
+    public PriorityProfile getDefaultProfile() {
+        return profiles.profiles[0];
+    }
+
+    /**
+     * Compiled profile for a profile id, the default one if the id is unknown
+     * (a profile removed from priority.yml since the player picked it)
+     */
+    public PriorityProfile getProfile(int id) {
+        ProfileTable current = profiles;
+        int index = Arrays.binarySearch(current.ids, id);
+        return index >= 0 ? current.profiles[index] : current.profiles[0];
+    }
+
+    /**
+     * Name of the profile with this id, "default" if the id is unknown
+     */
+    public String getProfileName(int id) {
+        ProfileTable current = profiles;
+        int index = Arrays.binarySearch(current.ids, id);
+        return index >= 0 ? current.idNames[index] : DEFAULT_PROFILE;
+    }
+
+    /**
+     * Profile names in priority.yml order, starting with "default"
+     */
+    public List<String> getProfileNames() {
+        return profiles.names;
+    }
+
+    /**
+     * Profile id for a name (case-insensitive), or -1 if there is none
+     */
+    public int getProfileId(String name) {
+        String key = name.toLowerCase(Locale.ROOT);
+        return profiles.names.contains(key) ? idOf(key) : -1;
+    }
+
+    /**
+     * Profiles sorted by id for binary search (the default, id 0, comes first)
+     * One immutable object per load, so a lookup never mixes two loads
+     */
+    private static final class ProfileTable {
+        private final int[] ids;
+        private final PriorityProfile[] profiles;
+        private final String[] idNames;
+        private final List<String> names;
+
+        ProfileTable(Map<Integer, String> names, Map<Integer, PriorityProfile> compiled) {
+            this.ids = new int[compiled.size()];
+            this.profiles = new PriorityProfile[ids.length];
+            this.idNames = new String[ids.length];
+            this.names = Collections.unmodifiableList(new ArrayList<>(names.values()));
+
+            int count = 0;
+            for (int id : compiled.keySet()) {
+                ids[count++] = id;
+            }
+            Arrays.sort(ids);
+            for (int i = 0; i < ids.length; i++) {
+                profiles[i] = compiled.get(ids[i]);
+                idNames[i] = names.get(ids[i]);
+            }
+        }
+    }
+
     private Enchantment getEnchantmentByName(String name) {
         name = name.toUpperCase().replace("-", "_").replace(" ", "_");
 
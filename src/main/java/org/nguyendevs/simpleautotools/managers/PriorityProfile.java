@@ -0,0 +1,96 @@
+package org.nguyendevs.simpleautotools.managers;
+
+import org.bukkit.enchantments.Enchantment;
+import org.nguyendevs.simpleautotools.utils.PriorityType;
+import org.nguyendevs.simpleautotools.utils.ToolType;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled priority settings: the priority order and the enchantment ranks of every tool type
+ *
+ * Immutable and compared by content. PriorityManager interns them, so all
+ * players on the same settings share one instance and scoring reads the
+ * same primitive arrays no matter which profile a player picked.
+ */
+public final class PriorityProfile {
+
+    private final PriorityType[] order;
+    private final int[][] ranks;
+    private final Map<ToolType, List<Enchantment>> enchantments;
+    private final int hash;
+
+    /**
+     * @param ranks        enchantment ids in priority order, indexed by ToolType ordinal
+     * @param enchantments the same lists as Enchantments, for the reference comparator
+     */
+    public PriorityProfile(List<PriorityType> order, int[][] ranks, Map<ToolType, List<Enchantment>> enchantments) {
+        this.order = order.toArray(new PriorityType[0]);
+        this.ranks = new int[ToolType.values().length][];
+        for (int i = 0; i < this.ranks.length; i++) {
+            this.ranks[i] = i < ranks.length && ranks[i] != null ? ranks[i].clone() : new int[0];
+        }
+
+        Map<ToolType, List<Enchantment>> copy = new EnumMap<>(ToolType.class);
+        for (Map.Entry<ToolType, List<Enchantment>> entry : enchantments.entrySet()) {
+            copy.put(entry.getKey(), Collections.unmodifiableList(Arrays.asList(
+                    entry.getValue().toArray(new Enchantment[0]))));
+        }
+        this.enchantments = Collections.unmodifiableMap(copy);
+        this.hash = 31 * (31 * Arrays.hashCode(this.order) + Arrays.deepHashCode(this.ranks)) + this.enchantments.hashCode();
+    }
+
+    public int getPriorityCount() {
+        return order.length;
+    }
+
+    public PriorityType getPriority(int index) {
+        return order[index];
+    }
+
+    public boolean hasPriority(PriorityType type) {
+        for (PriorityType priority : order) {
+            if (priority == type) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Enchantment ids in priority order (highest first) for ToolScorer
+     * Shared array, callers must not modify it
+     */
+    public int[] getRanks(ToolType toolType) {
+        return ranks[toolType.ordinal()];
+    }
+
+    public List<Enchantment> getEnchantments(ToolType toolType) {
+        return enchantments.getOrDefault(toolType, Collections.emptyList());
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof PriorityProfile)) {
+            return false;
+        }
+
+        PriorityProfile profile = (PriorityProfile) other;
+        return hash == profile.hash
+                && Arrays.equals(order, profile.order)
+                && Arrays.deepEquals(ranks, profile.ranks)
+                && enchantments.equals(profile.enchantments);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
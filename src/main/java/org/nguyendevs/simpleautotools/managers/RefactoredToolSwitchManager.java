@@ -1,19 +1,32 @@
 package org.nguyendevs.simpleautotools.managers;
 
+import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.enchantments.Enchantment;
+import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.potion.PotionEffectType;
 import org.nguyendevs.simpleautotools.SimpleAutoTools;
+import org.nguyendevs.simpleautotools.config.ConfigSnapshot;
+import org.nguyendevs.simpleautotools.config.ConfigSnapshot.Feature;
+import org.nguyendevs.simpleautotools.data.PlayerData;
+import org.nguyendevs.simpleautotools.metrics.MetricsManager;
+import org.nguyendevs.simpleautotools.metrics.Phase;
+import org.nguyendevs.simpleautotools.metrics.ToolSelectionEvent;
+import org.nguyendevs.simpleautotools.metrics.WeaponSelectionEvent;
+import org.nguyendevs.simpleautotools.utils.DigSpeedCalculator;
 import org.nguyendevs.simpleautotools.utils.PriorityType;
 import org.nguyendevs.simpleautotools.utils.TagBasedToolUtils;
 import org.nguyendevs.simpleautotools.utils.ToolType;
+import org.nguyendevs.simpleautotools.utils.WeaponStats;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Refactored ToolSwitchManager using Tag-based system
@@ -23,326 +36,371 @@ public class RefactoredToolSwitchManager {
 
     private final SimpleAutoTools plugin;
 
+    // Best-tool cache statistics, shown by /sat stats
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private volatile long configGeneration;
+
     public RefactoredToolSwitchManager(SimpleAutoTools plugin) {
         this.plugin = plugin;
     }
 
+    /**
+     * Drop every cached selection, called after config or priority reload
+     * A player picking another profile only clears their own cache (see SelectionCache)
+     */
+    public void invalidateCaches() {
+        configGeneration++;
+    }
+
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
     /**
      * Switch to the best tool for mining a block
      * Now uses Tag-based detection instead of pattern matching
      */
     public void switchToolForBlock(Player player, Block block) {
-        if (!plugin.getDataManager().isPlayerEnabled(player.getUniqueId())) {
+        switchToolForBlock(player, block, null);
+    }
+
+    /**
+     * @param pending scoring started by prescore() when the request was queued, or null
+     */
+    void switchToolForBlock(Player player, Block block, PendingSelection pending) {
+        PlayerData data = plugin.getDataManager().getPlayerData(player.getUniqueId());
+        if (!data.isEnabled()) {
             return;
         }
 
-        if (!plugin.getConfigManager().isAutoSwitchForBlocksEnabled()) {
+        ConfigSnapshot config = plugin.getConfigManager().getSnapshot();
+        if (!config.isEnabled(Feature.AUTO_SWITCH_BLOCKS)) {
             return;
         }
 
         Material blockType = block.getType();
+        MetricsManager metrics = plugin.getMetricsManager();
 
         // Use Tag-based detection instead of tool-blocks.yml
+        long start = metrics.start();
         ToolType requiredTool = TagBasedToolUtils.getRequiredToolType(blockType);
+        metrics.record(Phase.CLASSIFY, start);
 
         if (requiredTool == ToolType.NONE) {
             return;
         }
 
-        ItemStack bestTool = findBestTool(player, requiredTool, blockType);
-
-        if (bestTool != null) {
-            switchToTool(player, bestTool);
+        // Null unless a JFR recording is active
+        ToolSelectionEvent event = ToolSelectionEvent.beginIfEnabled();
+
+        start = metrics.start();
+        ToolInventoryIndex index = plugin.getInventoryIndexManager().getIndex(player);
+        metrics.record(Phase.SCAN, start);
+
+        // Player state only matters when DIG_SPEED is part of the order
+        PriorityProfile profile = plugin.getPriorityManager().getProfile(data.getProfileId());
+        int conditions = profile.hasPriority(PriorityType.DIG_SPEED) ? digConditions(player, index.getScratchLocation()) : 0;
+        int key = cacheKey(profile, blockType, conditions);
+        long version = index.getSelectionVersion();
+
+        ToolSelection bestTool = index.getSelectionCache().get(version, configGeneration, profile, key);
+        if (bestTool != SelectionCache.MISS) {
+            cacheHits.increment();
+        } else {
+            cacheMisses.increment();
+            // A worker result only counts if it was scored from what is current now
+            bestTool = pending != null ? pending.resultFor(version, configGeneration, profile, key) : SelectionCache.MISS;
+            if (bestTool != SelectionCache.MISS) {
+                index.getSelectionCache().put(key, bestTool);
+            } else {
+                if (pending != null) {
+                    plugin.getSelectionWorkerPool().markStale();
+                }
+                start = metrics.start();
+                bestTool = selectAndCache(index, config, profile, requiredTool, blockType, conditions, key);
+                metrics.record(Phase.SCORE, start);
+            }
         }
+
+        applyToolSelection(player, index, config, profile, requiredTool, blockType, conditions, bestTool, event);
     }
 
     /**
-     * Switch to the best weapon for attacking entities
+     * Start scoring a block request on the worker pool when it is queued, so the
+     * result is ready when the queue drains it on the next tick
+     * Returns null when there is nothing to score off-thread: async-selection is
+     * off, the block needs no tool, the selection is cached or the pool is full
      */
-    public void switchWeaponForEntity(Player player) {
-        if (!plugin.getDataManager().isPlayerEnabled(player.getUniqueId())) {
-            return;
-        }
-
-        if (!plugin.getConfigManager().isAutoSwitchForEntitiesEnabled()) {
-            return;
+    PendingSelection prescore(Player player, Block block) {
+        SelectionWorkerPool pool = plugin.getSelectionWorkerPool();
+        if (!pool.isEnabled()) {
+            return null;
         }
 
-        ItemStack bestWeapon = findBestWeapon(player);
-
-        if (bestWeapon != null) {
-            switchToTool(player, bestWeapon);
+        PlayerData data = plugin.getDataManager().getPlayerData(player.getUniqueId());
+        ConfigSnapshot config = plugin.getConfigManager().getSnapshot();
+        if (!data.isEnabled() || !config.isEnabled(Feature.AUTO_SWITCH_BLOCKS)) {
+            return null;
         }
-    }
 
-    /**
-     * Find the best tool for a specific block type
-     * Uses Tag-based harvest checking
-     */
-    private ItemStack findBestTool(Player player, ToolType toolType, Material blockType) {
-        PlayerInventory inventory = player.getInventory();
-        List<ItemStack> availableTools = new ArrayList<>();
-
-        boolean searchHotbar = plugin.getConfigManager().searchInHotbar();
-        boolean searchInv = plugin.getConfigManager().searchInInventory();
-        boolean checkHarvest = plugin.getConfigManager().isCheckHarvestLevelEnabled();
-
-        // Search hotbar (slots 0-8)
-        if (searchHotbar) {
-            for (int i = 0; i < 9; i++) {
-                ItemStack item = inventory.getItem(i);
-                if (item == null) continue;
-
-                if (TagBasedToolUtils.isToolType(item.getType(), toolType)) {
-                    // Check if tool can actually harvest this block
-                    if (!checkHarvest || TagBasedToolUtils.canHarvest(item.getType(), blockType)) {
-                        availableTools.add(item);
-                    }
-                }
-            }
+        Material blockType = block.getType();
+        ToolType requiredTool = TagBasedToolUtils.getRequiredToolType(blockType);
+        if (requiredTool == ToolType.NONE) {
+            return null;
         }
 
-        // Search main inventory (slots 9-35)
-        if (searchInv) {
-            for (int i = 9; i < 36; i++) {
-                ItemStack item = inventory.getItem(i);
-                if (item == null) continue;
+        ToolInventoryIndex index = plugin.getInventoryIndexManager().getIndex(player);
+        PriorityProfile profile = plugin.getPriorityManager().getProfile(data.getProfileId());
+        int conditions = profile.hasPriority(PriorityType.DIG_SPEED) ? digConditions(player, index.getScratchLocation()) : 0;
+        int key = cacheKey(profile, blockType, conditions);
+        long version = index.getSelectionVersion();
+        long generation = configGeneration;
 
-                if (TagBasedToolUtils.isToolType(item.getType(), toolType)) {
-                    if (!checkHarvest || TagBasedToolUtils.canHarvest(item.getType(), blockType)) {
-                        availableTools.add(item);
-                    }
-                }
-            }
-        }
-
-        if (availableTools.isEmpty()) {
+        if (index.getSelectionCache().get(version, generation, profile, key) != SelectionCache.MISS) {
             return null;
         }
 
-        // Sort by priority and return the best one
-        availableTools.sort(new ToolComparator(toolType, blockType));
-        return availableTools.get(0);
-    }
+        ToolInventoryIndex snapshot = index.snapshot();
+        PendingSelection pending = new PendingSelection(version, generation, profile, key);
+        MetricsManager metrics = plugin.getMetricsManager();
 
-    /**
-     * Find the best weapon for combat
-     */
-    private ItemStack findBestWeapon(Player player) {
-        PlayerInventory inventory = player.getInventory();
-        List<ItemStack> weapons = new ArrayList<>();
+        boolean submitted = pool.submit(() -> {
+            long start = metrics.start();
+            pending.complete(ToolSelector.selectTool(snapshot, config, profile, requiredTool, blockType, conditions));
+            metrics.record(Phase.SCORE, start);
+        });
+        return submitted ? pending : null;
+    }
 
-        boolean searchHotbar = plugin.getConfigManager().searchInHotbar();
-        boolean searchInv = plugin.getConfigManager().searchInInventory();
+    private void applyToolSelection(Player player, ToolInventoryIndex index, ConfigSnapshot config,
+                                    PriorityProfile profile, ToolType requiredTool, Material blockType, int conditions,
+                                    ToolSelection bestTool, ToolSelectionEvent event) {
+        MetricsManager metrics = plugin.getMetricsManager();
 
-        // Search hotbar
-        if (searchHotbar) {
-            for (int i = 0; i < 9; i++) {
-                ItemStack item = inventory.getItem(i);
-                if (item != null && TagBasedToolUtils.isWeapon(item.getType())) {
-                    weapons.add(item);
-                }
+        if (bestTool != null) {
+            if (config.isEnabled(Feature.VERIFY_SELECTION)) {
+                verifySelection(player, index, config, profile, requiredTool, blockType, conditions, bestTool.getSlot());
             }
-        }
 
-        // Search main inventory
-        if (searchInv) {
-            for (int i = 9; i < 36; i++) {
-                ItemStack item = inventory.getItem(i);
-                if (item != null && TagBasedToolUtils.isWeapon(item.getType())) {
-                    weapons.add(item);
-                }
-            }
+            long start = metrics.start();
+            switchToTool(player, index, config, bestTool);
+            metrics.record(Phase.SWITCH, start);
         }
 
-        if (weapons.isEmpty()) {
-            return null;
+        if (event != null) {
+            event.finish(blockType, requiredTool, index.getSlotCount(requiredTool), bestTool);
         }
-
-        // Determine weapon type for priority
-        ToolType weaponType = weapons.get(0).getType().name().endsWith("_SWORD")
-                ? ToolType.SWORD
-                : ToolType.AXE;
-
-        weapons.sort(new ToolComparator(weaponType, null));
-        return weapons.get(0);
     }
 
     /**
-     * Switch player's held item to the specified tool
+     * Switch to the weapon with the highest effective DPS against the target
      */
-    private void switchToTool(Player player, ItemStack tool) {
-        PlayerInventory inventory = player.getInventory();
-        ItemStack currentItem = inventory.getItemInMainHand();
-
-        // Already holding the best tool
-        if (currentItem != null && currentItem.equals(tool)) {
+    public void switchWeaponForEntity(Player player, EntityType target) {
+        PlayerData data = plugin.getDataManager().getPlayerData(player.getUniqueId());
+        if (!data.isEnabled()) {
             return;
         }
 
-        // Find the slot containing the tool
-        int toolSlot = -1;
-        for (int i = 0; i < inventory.getSize(); i++) {
-            ItemStack item = inventory.getItem(i);
-            if (item != null && item.equals(tool)) {
-                toolSlot = i;
-                break;
-            }
+        ConfigSnapshot config = plugin.getConfigManager().getSnapshot();
+        if (!config.isEnabled(Feature.AUTO_SWITCH_ENTITIES)) {
+            return;
         }
 
-        if (toolSlot == -1) return;
+        MetricsManager metrics = plugin.getMetricsManager();
+        WeaponSelectionEvent event = WeaponSelectionEvent.beginIfEnabled();
 
-        // If tool is in hotbar, just change held slot
-        if (toolSlot < 9) {
-            player.getInventory().setHeldItemSlot(toolSlot);
+        long start = metrics.start();
+        ToolInventoryIndex index = plugin.getInventoryIndexManager().getIndex(player);
+        metrics.record(Phase.SCAN, start);
+
+        start = metrics.start();
+        PriorityProfile profile = plugin.getPriorityManager().getProfile(data.getProfileId());
+        ToolSelection bestWeapon = findBestWeapon(index, config, profile, target);
+        metrics.record(Phase.SCORE, start);
+
+        // No verify-selection here: the DPS model intentionally differs from ToolComparator
+        if (bestWeapon != null) {
+            start = metrics.start();
+            switchToTool(player, index, config, bestWeapon);
+            metrics.record(Phase.SWITCH, start);
         }
-        // If tool is in main inventory, swap with current item
-        else {
-            inventory.setItem(toolSlot, currentItem);
-            inventory.setItemInMainHand(tool);
+
+        if (event != null) {
+            event.finish(target, index.getWeaponCount(), bestWeapon);
         }
     }
 
     /**
-     * Comparator for sorting tools by priority
-     * Now includes block-aware enchantment prioritization
+     * Selection cache key: same inventory + same key = same answer
+     * DIG_SPEED also depends on the block's hardness and the player's state
      */
-    private class ToolComparator implements Comparator<ItemStack> {
-        private final ToolType toolType;
-        private final Material blockType; // Can be null for weapons
+    private static int cacheKey(PriorityProfile profile, Material blockType, int conditions) {
+        return profile.hasPriority(PriorityType.DIG_SPEED)
+                ? Integer.MIN_VALUE | blockType.ordinal() << 10 | conditions
+                : TagBasedToolUtils.getBlockClassification(blockType);
+    }
+
+    /**
+     * Find the best tool for a specific block type and remember it
+     * Must follow a cache lookup for the current version
+     */
+    private ToolSelection selectAndCache(ToolInventoryIndex index, ConfigSnapshot config, PriorityProfile profile,
+                                         ToolType toolType, Material blockType, int conditions, int key) {
+        ToolSelection selection = ToolSelector.selectTool(index, config, profile, toolType, blockType, conditions);
+        index.getSelectionCache().put(key, selection);
+        return selection;
+    }
 
-        public ToolComparator(ToolType toolType, Material blockType) {
-            this.toolType = toolType;
-            this.blockType = blockType;
+    /**
+     * Find the best weapon for combat against an entity type
+     * Cached per entity category next to the block selections; weapon keys
+     * are negative and small, which no block key ever is
+     */
+    private ToolSelection findBestWeapon(ToolInventoryIndex index, ConfigSnapshot config, PriorityProfile profile,
+                                         EntityType target) {
+        int category = WeaponStats.getCategory(target);
+        int key = ~category;
+
+        SelectionCache cache = index.getSelectionCache();
+        ToolSelection selection = cache.get(index.getSelectionVersion(), configGeneration, profile, key);
+        if (selection != SelectionCache.MISS) {
+            cacheHits.increment();
+            return selection;
         }
 
-        @Override
-        public int compare(ItemStack t1, ItemStack t2) {
-            List<PriorityType> order = plugin.getConfigManager().getPriorityOrder();
+        cacheMisses.increment();
+        selection = ToolSelector.selectWeapon(index, config, profile, category);
+        cache.put(key, selection);
+        return selection;
+    }
 
-            for (PriorityType type : order) {
-                int result = 0;
+    /**
+     * Read the player state that changes mining speed
+     * Runs before the cache lookup, so it allocates nothing unless the player has
+     * Haste, Conduit Power or Mining Fatigue (one PotionEffect each) or their eyes are
+     * in water (the helmet copy)
+     *
+     * @param scratch reused for the player's position, see ToolInventoryIndex
+     */
+    static int digConditions(Player player, Location scratch) {
+        int haste = Math.max(effectLevel(player, PotionEffectType.FAST_DIGGING),
+                effectLevel(player, PotionEffectType.CONDUIT_POWER));
+        int fatigue = effectLevel(player, PotionEffectType.SLOW_DIGGING);
 
-                switch (type) {
-                    case ENCHANTMENT:
-                        result = compareEnchantments(t1, t2);
-                        break;
+        Location location = player.getLocation(scratch);
+        int eyeY = Location.locToBlock(location.getY() + player.getEyeHeight());
+        boolean underwater = location.getWorld().getType(location.getBlockX(), eyeY, location.getBlockZ()) == Material.WATER
+                && !hasAquaAffinity(player);
 
-                    case MATERIAL:
-                        result = compareMaterial(t1, t2);
-                        break;
+        return DigSpeedCalculator.conditions(haste, fatigue, underwater, !player.isOnGround());
+    }
 
-                    case DURABILITY:
-                        result = compareDurability(t1, t2);
-                        break;
-                }
+    private static boolean hasAquaAffinity(Player player) {
+        ItemStack helmet = player.getInventory().getHelmet();
+        return helmet != null && helmet.getEnchantmentLevel(Enchantment.WATER_WORKER) > 0;
+    }
 
-                // If this priority level makes a difference, return it
-                if (result != 0) {
-                    return result;
-                }
-            }
+    // hasPotionEffect looks the effect up in place, getPotionEffect wraps it in a new object
+    private static int effectLevel(Player player, PotionEffectType type) {
+        if (!player.hasPotionEffect(type)) {
             return 0;
         }
+        PotionEffect effect = player.getPotionEffect(type);
+        return effect != null ? effect.getAmplifier() + 1 : 0;
+    }
 
-        /**
-         * Compare enchantments with optional smart logic
-         * Smart logic can be disabled in config.yml
-         */
-        private int compareEnchantments(ItemStack t1, ItemStack t2) {
-            // Get user-defined enchantment priority from priority.yml
-            List<Enchantment> enchList = plugin.getPriorityManager().getEnchantmentPriority(toolType);
-
-            // SMART LOGIC (Optional) - Only applies if enabled in config
-            // This helps BETWEEN tools with same priority enchants
-            if (blockType != null && plugin.getConfigManager().isSmartEnchantmentEnabled()) {
-                // Example scenario: Both tools have same enchants at same levels
-                // Smart logic acts as a tiebreaker
-
-                // Check if both tools are equal on user's priority list first
-                boolean toolsAreEqual = true;
-                for (Enchantment ench : enchList) {
-                    int lvl1 = t1.getEnchantmentLevel(ench);
-                    int lvl2 = t2.getEnchantmentLevel(ench);
-                    if (lvl1 != lvl2) {
-                        toolsAreEqual = false;
-                        break;
-                    }
-                }
+    /**
+     * Differential check: rank the same candidates with ToolComparator
+     * and log when it disagrees with the packed score
+     */
+    private void verifySelection(Player player, ToolInventoryIndex index, ConfigSnapshot config,
+                                 PriorityProfile profile, ToolType toolType, Material blockType, int conditions, int chosenSlot) {
+        PlayerInventory inventory = player.getInventory();
+        boolean searchHotbar = config.isEnabled(Feature.SEARCH_HOTBAR);
+        boolean searchInv = config.isEnabled(Feature.SEARCH_INVENTORY);
+        boolean checkHarvest = config.isEnabled(Feature.CHECK_HARVEST_LEVEL);
 
-                // Only use smart logic as tiebreaker
-                if (toolsAreEqual) {
-                    // For glass/ice: prefer Silk Touch as tiebreaker
-                    if (TagBasedToolUtils.prefersSilkTouch(blockType)) {
-                        boolean t1HasSilk = t1.getEnchantmentLevel(Enchantment.SILK_TOUCH) > 0;
-                        boolean t2HasSilk = t2.getEnchantmentLevel(Enchantment.SILK_TOUCH) > 0;
-
-                        if (t1HasSilk && !t2HasSilk) return -1;
-                        if (!t1HasSilk && t2HasSilk) return 1;
-                    }
-
-                    // For ores: prefer Fortune as tiebreaker
-                    if (TagBasedToolUtils.benefitsFromFortune(blockType)) {
-                        int t1Fortune = t1.getEnchantmentLevel(Enchantment.LOOT_BONUS_BLOCKS);
-                        int t2Fortune = t2.getEnchantmentLevel(Enchantment.LOOT_BONUS_BLOCKS);
-
-                        if (t1Fortune != t2Fortune) {
-                            return Integer.compare(t2Fortune, t1Fortune);
-                        }
-                    }
-                }
-            }
+        List<ItemStack> candidates = new ArrayList<>();
+        for (int slot = 0; slot < ToolInventoryIndex.SLOT_COUNT; slot++) {
+            if (!ToolSelector.isSearched(slot, searchHotbar, searchInv)) continue;
 
-            // PRIMARY LOGIC: User's enchantment priority from priority.yml
-            // This ALWAYS takes precedence over smart logic
-            for (Enchantment ench : enchList) {
-                int lvl1 = t1.getEnchantmentLevel(ench);
-                int lvl2 = t2.getEnchantmentLevel(ench);
+            ItemStack item = inventory.getItem(slot);
+            if (item == null) continue;
 
-                if (lvl1 != lvl2) {
-                    return Integer.compare(lvl2, lvl1); // Higher level wins
-                }
-            }
+            if (!TagBasedToolUtils.isToolType(item.getType(), toolType)) continue;
+            if (checkHarvest && !TagBasedToolUtils.canHarvest(item.getType(), blockType)) continue;
 
-            return 0;
+            candidates.add(item);
         }
 
-        /**
-         * Compare material tiers (Netherite > Diamond > Iron > etc.)
-         */
-        private int compareMaterial(ItemStack t1, ItemStack t2) {
-            if (!plugin.getConfigManager().isMaterialPriorityEnabled()) {
-                return 0;
-            }
+        if (candidates.isEmpty()) {
+            plugin.getLogger().warning("Selection mismatch for " + player.getName()
+                    + ": index chose slot " + chosenSlot + " but a full scan found no candidates");
+            return;
+        }
 
-            int tier1 = TagBasedToolUtils.getMaterialTier(t1.getType());
-            int tier2 = TagBasedToolUtils.getMaterialTier(t2.getType());
+        ToolComparator comparator = new ToolComparator(config, profile, toolType, blockType, conditions);
+        candidates.sort(comparator);
 
-            if (tier1 != tier2) {
-                return Integer.compare(tier2, tier1); // Higher tier wins
-            }
-            return 0;
+        ItemStack chosen = inventory.getItem(chosenSlot);
+        if (chosen == null || comparator.compare(candidates.get(0), chosen) != 0) {
+            plugin.getLogger().warning("Selection mismatch for " + player.getName()
+                    + ": packed score chose slot " + chosenSlot + " (" + index.getMaterial(chosenSlot)
+                    + ") but ToolComparator prefers " + candidates.get(0).getType());
         }
+    }
 
-        /**
-         * Compare durability (HIGH = use high durability first, LOW = opposite)
-         */
-        private int compareDurability(ItemStack t1, ItemStack t2) {
-            String durPriority = plugin.getConfigManager().getDurabilityPriority();
+    /**
+     * Switch player's held item to the selected slot
+     */
+    private void switchToTool(Player player, ToolInventoryIndex index, ConfigSnapshot config, ToolSelection selection) {
+        PlayerInventory inventory = player.getInventory();
+        int toolSlot = selection.getSlot();
+        int heldSlot = inventory.getHeldItemSlot();
+        SwapBackManager swapBack = plugin.getSwapBackManager();
+        swapBack.onActivity(player, config);
 
-            if (durPriority.equalsIgnoreCase("NONE")) {
-                return 0;
-            }
+        // Already holding the best tool (or an identical copy of it)
+        if (toolSlot == heldSlot || index.isEquivalent(heldSlot, toolSlot)) {
+            return;
+        }
+
+        // The slot must still hold what was selected; if not, something changed the
+        // inventory without an event and any other slot may be stale too
+        ItemStack tool = inventory.getItem(toolSlot);
+        if (tool == null || tool.getType() != selection.getMaterial()) {
+            plugin.getInventoryIndexManager().markAllDirty(player);
+            return;
+        }
 
-            int d1 = TagBasedToolUtils.getRemainingDurability(t1);
-            int d2 = TagBasedToolUtils.getRemainingDurability(t2);
+        HotbarSlotManager hotbar = plugin.getHotbarSlotManager();
 
-            if (durPriority.equalsIgnoreCase("HIGH")) {
-                return Integer.compare(d2, d1); // Higher durability wins
-            } else if (durPriority.equalsIgnoreCase("LOW")) {
-                return Integer.compare(d1, d2); // Lower durability wins
+        // If tool is in hotbar, just change held slot
+        if (toolSlot < 9) {
+            swapBack.onAutoSwitch(player, config, heldSlot);
+            inventory.setHeldItemSlot(toolSlot);
+            hotbar.onSelected(player, toolSlot);
+        }
+        // If tool is in main inventory, swap it into the main hand or a reserved tool slot
+        else {
+            int targetSlot = hotbar.pickSlot(player, index, config, heldSlot);
+            ItemStack displaced = inventory.getItem(targetSlot);
+            inventory.setItem(toolSlot, displaced);
+            inventory.setItem(targetSlot, tool);
+            if (targetSlot != heldSlot) {
+                swapBack.onAutoSwitch(player, config, heldSlot);
+                inventory.setHeldItemSlot(targetSlot);
             }
-            return 0;
+            hotbar.onPulled(player, targetSlot);
+
+            InventoryIndexManager indexes = plugin.getInventoryIndexManager();
+            indexes.markDirty(player, toolSlot);
+            indexes.markDirty(player, targetSlot);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,69 @@
+package org.nguyendevs.simpleautotools.managers;
+
+/**
+ * Small per-player memo of the selection per block classification
+ *
+ * Entries are only valid for one inventory selection version, one config
+ * generation and one priority profile; any change to these clears the whole
+ * cache on the next lookup, so picking another profile only drops the
+ * player's own cache.
+ * Players mining the same few block types hit it almost every time.
+ */
+public class SelectionCache {
+
+    // Returned by get() when nothing is cached; compare by identity
+    public static final ToolSelection MISS = new ToolSelection(-1, null, -1, Long.MIN_VALUE);
+    private static final int CAPACITY = 16;
+
+    private final int[] keys = new int[CAPACITY];
+    private final ToolSelection[] results = new ToolSelection[CAPACITY];
+    private int size;
+    private int next;
+
+    private long version = -1;
+    private long generation = -1;
+    private PriorityProfile profile;
+
+    /**
+     * Get the cached selection for a block classification
+     * Returns the selection, null if no tool was found last time, or MISS
+     *
+     * @param profile the player's interned profile, compared by identity
+     */
+    public ToolSelection get(long version, long generation, PriorityProfile profile, int key) {
+        if (this.version != version || this.generation != generation || this.profile != profile) {
+            this.version = version;
+            this.generation = generation;
+            this.profile = profile;
+            clear();
+            return MISS;
+        }
+
+        for (int i = 0; i < size; i++) {
+            if (keys[i] == key) {
+                return results[i];
+            }
+        }
+        return MISS;
+    }
+
+    /**
+     * Remember a selection; must follow a get() for the same version
+     */
+    public void put(int key, ToolSelection result) {
+        keys[next] = key;
+        results[next] = result;
+        next = (next + 1) % CAPACITY;
+        if (size < CAPACITY) {
+            size++;
+        }
+    }
+
+    private void clear() {
+        for (int i = 0; i < size; i++) {
+            results[i] = null;
+        }
+        size = 0;
+        next = 0;
+    }
+}
@@ -0,0 +1,122 @@
+package org.nguyendevs.simpleautotools.managers;
+
+import org.nguyendevs.simpleautotools.SimpleAutoTools;
+import org.nguyendevs.simpleautotools.config.ConfigSnapshot;
+import org.nguyendevs.simpleautotools.config.ConfigSnapshot.Feature;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded worker pool for tool scoring (async-selection)
+ *
+ * Workers only ever see immutable ToolInventoryIndex snapshots and the
+ * config snapshot, never a Player or an inventory. The queue is bounded:
+ * when it is full the caller scores on its own thread instead, so a burst
+ * can never delay a switch by more than the queue itself.
+ */
+public class SelectionWorkerPool {
+
+    private static final int QUEUE_CAPACITY = 64;
+
+    private final SimpleAutoTools plugin;
+    private final AtomicInteger threadIds = new AtomicInteger();
+    private volatile ThreadPoolExecutor executor;
+
+    // Shown by /sat stats
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder stale = new LongAdder();
+
+    public SelectionWorkerPool(SimpleAutoTools plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Start, resize or stop the workers to match config.yml
+     */
+    public synchronized void applyConfig() {
+        ConfigSnapshot config = plugin.getConfigManager().getSnapshot();
+        if (!config.isEnabled(Feature.ASYNC_SELECTION)) {
+            stop();
+            return;
+        }
+
+        int threads = config.getAsyncSelectionThreads();
+        ThreadPoolExecutor current = executor;
+        if (current == null) {
+            executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+                        Thread thread = new Thread(runnable, "SimpleAutoTools-Selection-" + threadIds.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            return;
+        }
+
+        // The core size may never exceed the maximum, so the order depends on the direction
+        if (threads > current.getMaximumPoolSize()) {
+            current.setMaximumPoolSize(threads);
+            current.setCorePoolSize(threads);
+        } else {
+            current.setCorePoolSize(threads);
+            current.setMaximumPoolSize(threads);
+        }
+    }
+
+    /**
+     * Queue a scoring task
+     * Returns false if async selection is off or the queue is full;
+     * the caller then has to do the work itself
+     */
+    public boolean submit(Runnable task) {
+        ThreadPoolExecutor current = executor;
+        if (current == null) {
+            return false;
+        }
+
+        try {
+            current.execute(task);
+            submitted.increment();
+            return true;
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            return false;
+        }
+    }
+
+    /**
+     * Count a result that was discarded because it was not ready in time or the inventory or config changed meanwhile
+     */
+    public void markStale() {
+        stale.increment();
+    }
+
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return executor != null;
+    }
+
+    public long getSubmitted() {
+        return submitted.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getStale() {
+        return stale.sum();
+    }
+}
@@ -0,0 +1,185 @@
+package org.nguyendevs.simpleautotools.managers;
+
+import org.bukkit.entity.Player;
+import org.nguyendevs.simpleautotools.SimpleAutoTools;
+import org.nguyendevs.simpleautotools.config.ConfigSnapshot;
+import org.nguyendevs.simpleautotools.config.ConfigSnapshot.Feature;
+import org.nguyendevs.simpleautotools.scheduler.TaskScheduler.TaskHandle;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Switches back to the slot held before auto-switching once the player goes idle
+ *
+ * A session starts with the first auto-switch that changes the held slot and
+ * remembers every slot switched away from in a small ring buffer; the oldest
+ * entry is the slot the player had before the session. Every selection
+ * extends the session, a manual slot change ends it without restoring.
+ *
+ * One shared repeating task finds expired sessions; the restore itself runs
+ * on the player's thread. Players opt in with /sat swapback.
+ */
+public class SwapBackManager {
+
+    // Scan interval of the shared task
+    private static final long SCAN_INTERVAL_MILLIS = 250;
+    private static final int HOTBAR_SIZE = 9;
+
+    private final SimpleAutoTools plugin;
+    private final Map<UUID, Session> sessions;
+    private TaskHandle scanTask;
+
+    // Shown by /sat stats
+    private final LongAdder restores = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+
+    public SwapBackManager(SimpleAutoTools plugin) {
+        this.plugin = plugin;
+        this.sessions = new ConcurrentHashMap<>();
+    }
+
+    public synchronized void applyConfig() {
+        stop();
+        if (plugin.getConfigManager().getSnapshot().isEnabled(Feature.SWAP_BACK)) {
+            scanTask = plugin.getTaskScheduler().runAsyncRepeating(this::scan, SCAN_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public synchronized void stop() {
+        if (scanTask != null) {
+            scanTask.cancel();
+            scanTask = null;
+        }
+        sessions.clear();
+    }
+
+    /**
+     * Called by the switch manager before it moves the held slot
+     */
+    public void onAutoSwitch(Player player, ConfigSnapshot config, int previousSlot) {
+        if (!config.isEnabled(Feature.SWAP_BACK)
+                || !plugin.getDataManager().isSwapBackEnabled(player.getUniqueId())) {
+            return;
+        }
+
+        Session session = sessions.get(player.getUniqueId());
+        if (session == null) {
+            session = new Session(player);
+            sessions.put(player.getUniqueId(), session);
+        }
+        session.push(previousSlot);
+        session.deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.getSwapBackIdleMillis());
+    }
+
+    /**
+     * Called on every selection, switch or not, to keep an active session alive
+     */
+    public void onActivity(Player player, ConfigSnapshot config) {
+        Session session = sessions.get(player.getUniqueId());
+        if (session != null) {
+            session.deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.getSwapBackIdleMillis());
+        }
+    }
+
+    /**
+     * The player changed slots by hand: forget the session
+     */
+    public void cancel(Player player) {
+        if (sessions.remove(player.getUniqueId()) != null) {
+            cancelled.increment();
+        }
+    }
+
+    public void remove(Player player) {
+        sessions.remove(player.getUniqueId());
+    }
+
+    // Shared task, runs off the player threads and only reads the deadlines
+    private void scan() {
+        long now = System.nanoTime();
+        for (Session session : sessions.values()) {
+            if (!session.scheduled && now - session.deadline >= 0) {
+                session.scheduled = true;
+                if (!plugin.getTaskScheduler().runForPlayer(session.player, session.restoreTask)) {
+                    sessions.remove(session.player.getUniqueId(), session);
+                }
+            }
+        }
+    }
+
+    // Player thread
+    private void restore(Session session) {
+        Player player = session.player;
+        session.scheduled = false;
+        if (sessions.get(player.getUniqueId()) != session || !player.isOnline()) {
+            return;
+        }
+
+        // Extended since the scan, or still breaking a block
+        long now = System.nanoTime();
+        if (now - session.deadline < 0) {
+            return;
+        }
+        if (plugin.getMiningSessionManager().isMining(player)) {
+            ConfigSnapshot config = plugin.getConfigManager().getSnapshot();
+            session.deadline = now + TimeUnit.MILLISECONDS.toNanos(config.getSwapBackIdleMillis());
+            return;
+        }
+
+        sessions.remove(player.getUniqueId(), session);
+        int slot = session.oldest();
+        if (slot != player.getInventory().getHeldItemSlot()) {
+            player.getInventory().setHeldItemSlot(slot);
+            restores.increment();
+        }
+    }
+
+    public long getRestores() {
+        return restores.sum();
+    }
+
+    public long getCancelled() {
+        return cancelled.sum();
+    }
+
+    /**
+     * Pre-switch slots in switch order, without duplicates
+     * With at most nine distinct hotbar slots the ring never overwrites the oldest entry
+     */
+    private final class Session {
+        private final Player player;
+        private final Runnable restoreTask = () -> restore(this);
+        private final byte[] slots = new byte[HOTBAR_SIZE];
+        private int head;
+        private int size;
+
+        private volatile long deadline;
+        private volatile boolean scheduled;
+
+        Session(Player player) {
+            this.player = player;
+        }
+
+        void push(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[(head + i) % HOTBAR_SIZE] == slot) {
+                    return;
+                }
+            }
+            slots[(head + size) % HOTBAR_SIZE] = (byte) slot;
+            if (size < HOTBAR_SIZE) {
+                size++;
+            } else {
+                head = (head + 1) % HOTBAR_SIZE;
+            }
+        }
+
+        int oldest() {
+            return slots[head];
+        }
+    }
+}
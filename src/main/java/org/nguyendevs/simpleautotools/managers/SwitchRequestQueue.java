@@ -0,0 +1,138 @@
+package org.nguyendevs.simpleautotools.managers;
+
+import org.bukkit.block.Block;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
+import org.nguyendevs.simpleautotools.scheduler.TaskScheduler;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Coalesces switch requests per player and runs them once per tick
+ *
+ * Listeners only record the latest intent (a block to mine or an entity to
+ * hit). The first request of a tick schedules one task on the thread that owns
+ * the player; later requests in the same tick just replace the intent. However
+ * many events a player fires within one tick, at most one selection and one
+ * inventory change (slot packet) happen for them.
+ *
+ * With async-selection on, the first block request of a tick is scored on the
+ * worker pool right away, and the task applies that result when it runs.
+ *
+ * Each player keeps one SwitchRequest (and its task) until they quit, so
+ * steady-state requests do not allocate on the plugin side.
+ */
+public class SwitchRequestQueue {
+
+    private final TaskScheduler scheduler;
+    private final RefactoredToolSwitchManager switcher;
+    private final Map<UUID, SwitchRequest> pending;
+
+    // Shown by /sat stats
+    private final LongAdder requested = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public SwitchRequestQueue(TaskScheduler scheduler, RefactoredToolSwitchManager switcher) {
+        this.scheduler = scheduler;
+        this.switcher = switcher;
+        this.pending = new ConcurrentHashMap<>();
+    }
+
+    public void stop() {
+        pending.clear();
+    }
+
+    public void remove(Player player) {
+        pending.remove(player.getUniqueId());
+    }
+
+    /**
+     * Queue a tool switch for mining a block, replacing any earlier request this tick
+     */
+    public void requestBlockSwitch(Player player, Block block) {
+        submit(player, block, null);
+    }
+
+    /**
+     * Queue a weapon switch against an entity type, replacing any earlier request this tick
+     */
+    public void requestWeaponSwitch(Player player, EntityType target) {
+        submit(player, null, target);
+    }
+
+    // Requests and their execution for one player all run on the thread owning that player
+    private void submit(Player player, Block block, EntityType target) {
+        requested.increment();
+
+        UUID uuid = player.getUniqueId();
+        SwitchRequest request = pending.get(uuid);
+        if (request == null) {
+            request = new SwitchRequest(player);
+            pending.put(uuid, request);
+        }
+
+        request.block = block;
+        request.target = target;
+        if (request.scheduled) {
+            coalesced.increment();
+            return;
+        }
+
+        // Score off-thread while the request waits for its task
+        request.selection = block != null ? switcher.prescore(player, block) : null;
+        request.scheduled = true;
+        if (!scheduler.runForPlayer(player, request.task)) {
+            request.scheduled = false;
+        }
+    }
+
+    private void execute(SwitchRequest request) {
+        request.scheduled = false;
+        Player player = request.player;
+        Block block = request.block;
+        EntityType target = request.target;
+        PendingSelection selection = request.selection;
+
+        // Drop references to the world until the next request
+        request.block = null;
+        request.target = null;
+        request.selection = null;
+
+        if (!player.isOnline()) {
+            pending.remove(player.getUniqueId(), request);
+            return;
+        }
+
+        if (block != null) {
+            switcher.switchToolForBlock(player, block, selection);
+        } else if (target != null) {
+            switcher.switchWeaponForEntity(player, target);
+        }
+    }
+
+    public long getRequested() {
+        return requested.sum();
+    }
+
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    // block is set for a tool switch, target for a weapon switch
+    // Volatile because Folia may hand the player to another region thread between ticks
+    private final class SwitchRequest {
+        private final Player player;
+        private final Runnable task = () -> execute(this);
+        private volatile Block block;
+        private volatile EntityType target;
+        private volatile PendingSelection selection;
+        private volatile boolean scheduled;
+
+        SwitchRequest(Player player) {
+            this.player = player;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package org.nguyendevs.simpleautotools.managers;
+
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemStack;
+import org.nguyendevs.simpleautotools.config.ConfigSnapshot;
+import org.nguyendevs.simpleautotools.config.ConfigSnapshot.Feature;
+import org.nguyendevs.simpleautotools.utils.DigSpeedCalculator;
+import org.nguyendevs.simpleautotools.utils.DurabilityPriority;
+import org.nguyendevs.simpleautotools.utils.TagBasedToolUtils;
+import org.nguyendevs.simpleautotools.utils.ToolType;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Comparator for sorting tools by priority
+ * Now includes block-aware enchantment prioritization
+ * Kept as the reference ordering for ToolScorer (debug.verify-selection and the differential tests)
+ */
+final class ToolComparator implements Comparator<ItemStack> {
+    private final ConfigSnapshot config;
+    private final PriorityProfile profile;
+    private final ToolType toolType;
+    private final Material blockType; // Can be null for weapons
+    private final int conditions;
+
+    ToolComparator(ConfigSnapshot config, PriorityProfile profile, ToolType toolType,
+                   Material blockType, int conditions) {
+        this.config = config;
+        this.profile = profile;
+        this.toolType = toolType;
+        this.blockType = blockType;
+        this.conditions = conditions;
+    }
+
+    @Override
+    public int compare(ItemStack t1, ItemStack t2) {
+        for (int i = 0; i < profile.getPriorityCount(); i++) {
+            int result = 0;
+
+            switch (profile.getPriority(i)) {
+                case ENCHANTMENT:
+                    result = compareEnchantments(t1, t2);
+                    break;
+
+                case MATERIAL:
+                    result = compareMaterial(t1, t2);
+                    break;
+
+                case DURABILITY:
+                    result = compareDurability(t1, t2);
+                    break;
+
+                case DIG_SPEED:
+                    result = compareDigSpeed(t1, t2);
+                    break;
+            }
+
+            // If this priority level makes a difference, return it
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Compare enchantments with optional smart logic
+     * Smart logic can be disabled in config.yml
+     */
+    private int compareEnchantments(ItemStack t1, ItemStack t2) {
+        // Get user-defined enchantment priority from priority.yml (or the player's profile)
+        List<Enchantment> enchList = profile.getEnchantments(toolType);
+
+        // SMART LOGIC (Optional) - Only applies if enabled in config
+        // This helps BETWEEN tools with same priority enchants
+        if (blockType != null && config.isEnabled(Feature.SMART_ENCHANTMENT)) {
+            // Example scenario: Both tools have same enchants at same levels
+            // Smart logic acts as a tiebreaker
+
+            // Check if both tools are equal on user's priority list first
+            boolean toolsAreEqual = true;
+            for (Enchantment ench : enchList) {
+                int lvl1 = t1.getEnchantmentLevel(ench);
+                int lvl2 = t2.getEnchantmentLevel(ench);
+                if (lvl1 != lvl2) {
+                    toolsAreEqual = false;
+                    break;
+                }
+            }
+
+            // Only use smart logic as tiebreaker
+            if (toolsAreEqual) {
+                // For glass/ice: prefer Silk Touch as tiebreaker
+                if (TagBasedToolUtils.prefersSilkTouch(blockType)) {
+                    boolean t1HasSilk = t1.getEnchantmentLevel(Enchantment.SILK_TOUCH) > 0;
+                    boolean t2HasSilk = t2.getEnchantmentLevel(Enchantment.SILK_TOUCH) > 0;
+
+                    if (t1HasSilk && !t2HasSilk) return -1;
+                    if (!t1HasSilk && t2HasSilk) return 1;
+                }
+
+                // For ores: prefer Fortune as tiebreaker
+                if (TagBasedToolUtils.benefitsFromFortune(blockType)) {
+                    int t1Fortune = t1.getEnchantmentLevel(Enchantment.LOOT_BONUS_BLOCKS);
+                    int t2Fortune = t2.getEnchantmentLevel(Enchantment.LOOT_BONUS_BLOCKS);
+
+                    if (t1Fortune != t2Fortune) {
+                        return Integer.compare(t2Fortune, t1Fortune);
+                    }
+                }
+            }
+        }
+
+        // PRIMARY LOGIC: User's enchantment priority from priority.yml
+        // This ALWAYS takes precedence over smart logic
+        for (Enchantment ench : enchList) {
+            int lvl1 = t1.getEnchantmentLevel(ench);
+            int lvl2 = t2.getEnchantmentLevel(ench);
+
+            if (lvl1 != lvl2) {
+                return Integer.compare(lvl2, lvl1); // Higher level wins
+            }
+        }
+
+        return 0;
+    }
+
+    /**
+     * Compare material tiers (Netherite > Diamond > Iron > etc.)
+     */
+    private int compareMaterial(ItemStack t1, ItemStack t2) {
+        if (!config.isEnabled(Feature.MATERIAL_PRIORITY)) {
+            return 0;
+        }
+
+        int tier1 = TagBasedToolUtils.getMaterialTier(t1.getType());
+        int tier2 = TagBasedToolUtils.getMaterialTier(t2.getType());
+
+        if (tier1 != tier2) {
+            return Integer.compare(tier2, tier1); // Higher tier wins
+        }
+        return 0;
+    }
+
+    /**
+     * Compare durability (HIGH = use high durability first, LOW = opposite)
+     * In the same 32-point steps as ToolScorer, so a cached selection stays the right one until a tool crosses a step
+     */
+    private int compareDurability(ItemStack t1, ItemStack t2) {
+        DurabilityPriority durPriority = config.getDurabilityPriority();
+
+        if (durPriority == DurabilityPriority.NONE) {
+            return 0;
+        }
+
+        int d1 = TagBasedToolUtils.getRemainingDurability(t1) >> ToolInventoryIndex.DURABILITY_STEP_BITS;
+        int d2 = TagBasedToolUtils.getRemainingDurability(t2) >> ToolInventoryIndex.DURABILITY_STEP_BITS;
+
+        if (durPriority == DurabilityPriority.HIGH) {
+            return Integer.compare(d2, d1); // Higher durability wins
+        }
+        return Integer.compare(d1, d2); // Lower durability wins
+    }
+
+    /**
+     * Compare expected break ticks on the block (fewer ticks wins)
+     */
+    private int compareDigSpeed(ItemStack t1, ItemStack t2) {
+        if (blockType == null) {
+            return 0;
+        }
+
+        int ticks1 = DigSpeedCalculator.getBreakTicks(t1.getType(),
+                t1.getEnchantmentLevel(Enchantment.DIG_SPEED), blockType, conditions);
+        int ticks2 = DigSpeedCalculator.getBreakTicks(t2.getType(),
+                t2.getEnchantmentLevel(Enchantment.DIG_SPEED), blockType, conditions);
+        return Integer.compare(ticks1, ticks2);
+    }
+}
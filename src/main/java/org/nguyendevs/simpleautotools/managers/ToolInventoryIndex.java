@@ -0,0 +1,302 @@
+package org.nguyendevs.simpleautotools.managers;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.nguyendevs.simpleautotools.utils.EnchantmentIds;
+import org.nguyendevs.simpleautotools.utils.TagBasedToolUtils;
+import org.nguyendevs.simpleautotools.utils.ToolType;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Per-player index of the tools in slots 0-35, grouped by ToolType
+ *
+ * Inventory events only mark slots as dirty; the dirty slots are re-read
+ * lazily on the next selection, so an unchanged inventory is never scanned.
+ * Changes that fire no event (commands, other plugins calling setItem) are
+ * caught by the periodic full rescan InventoryIndexManager asks for.
+ * Slot lists are kept in ascending slot order (hotbar first), which is the
+ * same order a full scan would visit them in.
+ *
+ * Two versions are kept: getVersion() changes on any tool change, while
+ * getSelectionVersion() ignores durability changes that stay within one
+ * durability step, so mining with a tool does not throw away every cached
+ * selection on each block broken. Selection ranks durability in those same
+ * steps, so the result for a selection version never changes.
+ *
+ * snapshot() hands out a detached, never modified copy for scoring on
+ * worker threads; the index itself belongs to the player's owning thread.
+ */
+public class ToolInventoryIndex {
+
+    public static final int SLOT_COUNT = 36;
+    private static final long ALL_SLOTS = (1L << SLOT_COUNT) - 1;
+    private static final ToolType[] TOOL_TYPES = ToolType.values();
+    // Durability is ranked in steps of 32 points (ToolScorer, ToolComparator), so a
+    // change within a step keeps the selection version
+    static final int DURABILITY_STEP_BITS = 5;
+
+    private static final int UNCHANGED = 0;
+    private static final int DURABILITY_CHANGED = 1;
+    private static final int SELECTION_CHANGED = 2;
+
+    // Per-slot data, only filled for tools (material is null otherwise)
+    private final Material[] materials = new Material[SLOT_COUNT];
+    private final int[] tiers = new int[SLOT_COUNT];
+    private final int[] durabilities = new int[SLOT_COUNT];
+    private final byte[][] enchantLevels = new byte[SLOT_COUNT][EnchantmentIds.count()];
+    private final byte[] scratchLevels = new byte[EnchantmentIds.count()];
+
+    // Slot positions grouped by tool type, plus swords and axes combined
+    private final int[][] slotsByType = new int[TOOL_TYPES.length][SLOT_COUNT];
+    private final int[] typeCounts = new int[TOOL_TYPES.length];
+    private final int[] weaponSlots = new int[SLOT_COUNT];
+    private int weaponCount;
+
+    private long dirtySlots = ALL_SLOTS;
+    private long version;
+    private long selectionVersion;
+    private long lastFullRefresh;
+
+    private final SelectionCache selectionCache = new SelectionCache();
+
+    // Filled by Entity#getLocation(Location) on the owning thread, so reading the position allocates nothing
+    private final Location scratchLocation = new Location(null, 0, 0, 0);
+
+    // Shared while the version is unchanged, snapshots are never modified
+    private ToolInventoryIndex snapshot;
+
+    public ToolInventoryIndex() {
+    }
+
+    private ToolInventoryIndex(ToolInventoryIndex source) {
+        System.arraycopy(source.materials, 0, materials, 0, SLOT_COUNT);
+        System.arraycopy(source.tiers, 0, tiers, 0, SLOT_COUNT);
+        System.arraycopy(source.durabilities, 0, durabilities, 0, SLOT_COUNT);
+        for (int slot = 0; slot < SLOT_COUNT; slot++) {
+            System.arraycopy(source.enchantLevels[slot], 0, enchantLevels[slot], 0, scratchLevels.length);
+        }
+        for (int type = 0; type < TOOL_TYPES.length; type++) {
+            System.arraycopy(source.slotsByType[type], 0, slotsByType[type], 0, source.typeCounts[type]);
+        }
+        System.arraycopy(source.typeCounts, 0, typeCounts, 0, typeCounts.length);
+        System.arraycopy(source.weaponSlots, 0, weaponSlots, 0, source.weaponCount);
+        weaponCount = source.weaponCount;
+        dirtySlots = 0;
+        version = source.version;
+        selectionVersion = source.selectionVersion;
+    }
+
+    /**
+     * Immutable copy of the current state for scoring off the owning thread
+     * Only meaningful right after refresh(); copies once per version
+     */
+    public ToolInventoryIndex snapshot() {
+        if (snapshot == null || snapshot.version != version) {
+            snapshot = new ToolInventoryIndex(this);
+        }
+        return snapshot;
+    }
+
+    public void markDirty(int slot) {
+        if (slot >= 0 && slot < SLOT_COUNT) {
+            dirtySlots |= 1L << slot;
+        }
+    }
+
+    public void markAllDirty() {
+        dirtySlots = ALL_SLOTS;
+    }
+
+    /**
+     * Re-read the slots touched since the last refresh
+     * The version only changes when a tool slot actually changed
+     */
+    public void refresh(PlayerInventory inventory) {
+        long dirty = dirtySlots;
+        if (dirty == 0) {
+            return;
+        }
+        dirtySlots = 0;
+        if (dirty == ALL_SLOTS) {
+            lastFullRefresh = System.nanoTime();
+        }
+
+        int changed = UNCHANGED;
+        for (int slot = 0; slot < SLOT_COUNT; slot++) {
+            if ((dirty & (1L << slot)) != 0) {
+                changed = Math.max(changed, readSlot(slot, inventory.getItem(slot)));
+            }
+        }
+
+        if (changed == SELECTION_CHANGED) {
+            rebuildGroups();
+            selectionVersion++;
+        }
+        if (changed != UNCHANGED) {
+            version++;
+        }
+    }
+
+    /**
+     * Re-read one slot and report how much changed
+     * Slot groups only depend on the materials, so a durability change never needs a rebuild
+     */
+    private int readSlot(int slot, ItemStack item) {
+        Material material = null;
+        int tier = -1;
+        int durability = 0;
+        Arrays.fill(scratchLevels, (byte) 0);
+
+        if (item != null && TagBasedToolUtils.getItemToolType(item.getType()) != ToolType.NONE) {
+            material = item.getType();
+            tier = TagBasedToolUtils.getMaterialTier(material);
+            durability = TagBasedToolUtils.getRemainingDurability(item);
+            readEnchantments(item, scratchLevels);
+        }
+
+        int changed;
+        if (materials[slot] != material || tiers[slot] != tier || !Arrays.equals(enchantLevels[slot], scratchLevels)) {
+            changed = SELECTION_CHANGED;
+        } else if (durabilities[slot] >> DURABILITY_STEP_BITS != durability >> DURABILITY_STEP_BITS) {
+            changed = SELECTION_CHANGED;
+        } else if (durabilities[slot] != durability) {
+            changed = DURABILITY_CHANGED;
+        } else {
+            return UNCHANGED;
+        }
+
+        materials[slot] = material;
+        tiers[slot] = tier;
+        durabilities[slot] = durability;
+        System.arraycopy(scratchLevels, 0, enchantLevels[slot], 0, scratchLevels.length);
+        return changed;
+    }
+
+    private static void readEnchantments(ItemStack item, byte[] levels) {
+        for (Map.Entry<Enchantment, Integer> entry : item.getEnchantments().entrySet()) {
+            int id = EnchantmentIds.of(entry.getKey());
+            if (id != -1) {
+                // Levels are stored unsigned, anything above 255 is clamped
+                levels[id] = (byte) Math.min(entry.getValue(), 255);
+            }
+        }
+    }
+
+    private void rebuildGroups() {
+        for (int i = 0; i < typeCounts.length; i++) {
+            typeCounts[i] = 0;
+        }
+        weaponCount = 0;
+
+        for (int slot = 0; slot < SLOT_COUNT; slot++) {
+            Material material = materials[slot];
+            if (material == null) continue;
+
+            int type = TagBasedToolUtils.getItemToolType(material).ordinal();
+            slotsByType[type][typeCounts[type]++] = slot;
+
+            if (TagBasedToolUtils.isWeapon(material)) {
+                weaponSlots[weaponCount++] = slot;
+            }
+        }
+    }
+
+    /**
+     * Compare the index against a full scan of the inventory
+     * Returns the first mismatching slot, or -1 if the index is consistent
+     * Only meaningful right after refresh()
+     */
+    public int findMismatch(PlayerInventory inventory) {
+        for (int slot = 0; slot < SLOT_COUNT; slot++) {
+            ItemStack item = inventory.getItem(slot);
+
+            Material material = null;
+            int durability = 0;
+            Arrays.fill(scratchLevels, (byte) 0);
+            if (item != null && TagBasedToolUtils.getItemToolType(item.getType()) != ToolType.NONE) {
+                material = item.getType();
+                durability = TagBasedToolUtils.getRemainingDurability(item);
+                readEnchantments(item, scratchLevels);
+            }
+
+            if (materials[slot] != material || durabilities[slot] != durability
+                    || !Arrays.equals(enchantLevels[slot], scratchLevels)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    public int getSlotCount(ToolType toolType) {
+        return typeCounts[toolType.ordinal()];
+    }
+
+    public int getSlot(ToolType toolType, int index) {
+        return slotsByType[toolType.ordinal()][index];
+    }
+
+    public int getWeaponCount() {
+        return weaponCount;
+    }
+
+    public int getWeaponSlot(int index) {
+        return weaponSlots[index];
+    }
+
+    public Material getMaterial(int slot) {
+        return materials[slot];
+    }
+
+    public int getTier(int slot) {
+        return tiers[slot];
+    }
+
+    public int getDurability(int slot) {
+        return durabilities[slot];
+    }
+
+    public int getEnchantmentLevel(int slot, int enchantmentId) {
+        return enchantLevels[slot][enchantmentId] & 0xFF;
+    }
+
+    /**
+     * Check if two slots hold interchangeable tools (same material, durability and enchantments)
+     */
+    public boolean isEquivalent(int slotA, int slotB) {
+        return materials[slotA] == materials[slotB]
+                && durabilities[slotA] == durabilities[slotB]
+                && Arrays.equals(enchantLevels[slotA], enchantLevels[slotB]);
+    }
+
+    /**
+     * System.nanoTime() of the last refresh that re-read every slot
+     */
+    public long getLastFullRefresh() {
+        return lastFullRefresh;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Version for cached selections: unchanged by durability changes within one step
+     * A cached pick can therefore be off by less than a step between otherwise identical tools
+     */
+    public long getSelectionVersion() {
+        return selectionVersion;
+    }
+
+    public SelectionCache getSelectionCache() {
+        return selectionCache;
+    }
+
+    Location getScratchLocation() {
+        return scratchLocation;
+    }
+}
@@ -0,0 +1,132 @@
+package org.nguyendevs.simpleautotools.managers;
+
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+import org.nguyendevs.simpleautotools.config.ConfigSnapshot;
+import org.nguyendevs.simpleautotools.config.ConfigSnapshot.Feature;
+import org.nguyendevs.simpleautotools.utils.DigSpeedCalculator;
+import org.nguyendevs.simpleautotools.utils.DurabilityPriority;
+import org.nguyendevs.simpleautotools.utils.EnchantmentIds;
+
+/**
+ * Folds the ToolComparator ordering into one packed long per candidate
+ *
+ * Each priority in the profile's order gets a fixed-width field, the first one in
+ * the most significant bits, so the candidate with the highest score is the
+ * one the comparator would sort first. Selection is then a single linear scan.
+ *
+ * Field layout (63 bits max):
+ * - ENCHANTMENT: 8 ranked levels x 4 bits, silk touch bit, fortune level (3 bits)
+ * - MATERIAL:    tier + 1 (4 bits)
+ * - DURABILITY:  remaining durability in 32-point steps, inverted for LOW (6 bits)
+ * - DIG_SPEED:   break ticks on the target block, inverted (12 bits)
+ *
+ * Levels above 15, fortune above 7 and durability above 2047 are clamped.
+ */
+public final class ToolScorer {
+
+    public static final int MAX_RANKED_ENCHANTMENTS = 8;
+
+    private static final int LEVEL_BITS = 4;
+    private static final int LEVEL_MAX = (1 << LEVEL_BITS) - 1;
+    private static final int FORTUNE_BITS = 3;
+    private static final int FORTUNE_MAX = (1 << FORTUNE_BITS) - 1;
+    private static final int ENCHANTMENT_BITS = MAX_RANKED_ENCHANTMENTS * LEVEL_BITS + 1 + FORTUNE_BITS;
+    private static final int MATERIAL_BITS = 4;
+    private static final int DURABILITY_BITS = 11 - ToolInventoryIndex.DURABILITY_STEP_BITS;
+    private static final int DURABILITY_MAX = (1 << DURABILITY_BITS) - 1;
+    private static final int DIG_SPEED_BITS = 12;
+
+    private static final int SILK_TOUCH_ID = EnchantmentIds.of(Enchantment.SILK_TOUCH);
+    private static final int FORTUNE_ID = EnchantmentIds.of(Enchantment.LOOT_BONUS_BLOCKS);
+    private static final int EFFICIENCY_ID = EnchantmentIds.of(Enchantment.DIG_SPEED);
+
+    private ToolScorer() {
+    }
+
+    /**
+     * Compute the packed score of one indexed slot
+     *
+     * @param profile      the player's priority profile, for the order
+     * @param ranks        enchantment ids in priority order (PriorityProfile#getRanks)
+     * @param silkBonus    smart selection: the block prefers Silk Touch
+     * @param fortuneBonus smart selection: the block benefits from Fortune
+     * @param blockType    target block for DIG_SPEED, null for weapons
+     * @param conditions   packed player state from DigSpeedCalculator#conditions
+     */
+    public static long score(ToolInventoryIndex index, int slot, ConfigSnapshot config,
+                             PriorityProfile profile, int[] ranks, boolean silkBonus, boolean fortuneBonus,
+                             Material blockType, int conditions) {
+        long score = 0;
+
+        for (int i = 0; i < profile.getPriorityCount(); i++) {
+            switch (profile.getPriority(i)) {
+                case ENCHANTMENT:
+                    score = (score << ENCHANTMENT_BITS) | enchantmentKey(index, slot, ranks, silkBonus, fortuneBonus);
+                    break;
+
+                case MATERIAL:
+                    score <<= MATERIAL_BITS;
+                    if (config.isEnabled(Feature.MATERIAL_PRIORITY)) {
+                        score |= index.getTier(slot) + 1;
+                    }
+                    break;
+
+                case DURABILITY:
+                    score = (score << DURABILITY_BITS) | durabilityKey(index.getDurability(slot), config.getDurabilityPriority());
+                    break;
+
+                case DIG_SPEED:
+                    score <<= DIG_SPEED_BITS;
+                    if (blockType != null) {
+                        score |= DigSpeedCalculator.MAX_TICKS - breakTicks(index, slot, blockType, conditions);
+                    }
+                    break;
+            }
+        }
+
+        return score;
+    }
+
+    private static long enchantmentKey(ToolInventoryIndex index, int slot, int[] ranks,
+                                       boolean silkBonus, boolean fortuneBonus) {
+        long key = 0;
+
+        // User's priority.yml order always decides first
+        for (int i = 0; i < MAX_RANKED_ENCHANTMENTS; i++) {
+            int level = i < ranks.length ? Math.min(index.getEnchantmentLevel(slot, ranks[i]), LEVEL_MAX) : 0;
+            key = (key << LEVEL_BITS) | level;
+        }
+
+        // Smart selection only breaks ties below the ranked levels
+        key <<= 1;
+        if (silkBonus && SILK_TOUCH_ID != -1 && index.getEnchantmentLevel(slot, SILK_TOUCH_ID) > 0) {
+            key |= 1;
+        }
+
+        key <<= FORTUNE_BITS;
+        if (fortuneBonus && FORTUNE_ID != -1) {
+            key |= Math.min(index.getEnchantmentLevel(slot, FORTUNE_ID), FORTUNE_MAX);
+        }
+
+        return key;
+    }
+
+    private static int breakTicks(ToolInventoryIndex index, int slot, Material blockType, int conditions) {
+        int efficiency = EFFICIENCY_ID != -1 ? index.getEnchantmentLevel(slot, EFFICIENCY_ID) : 0;
+        return DigSpeedCalculator.getBreakTicks(index.getMaterial(slot), efficiency, blockType, conditions);
+    }
+
+    private static long durabilityKey(int durability, DurabilityPriority priority) {
+        int clamped = Math.max(0, Math.min(durability >> ToolInventoryIndex.DURABILITY_STEP_BITS, DURABILITY_MAX));
+
+        switch (priority) {
+            case HIGH:
+                return clamped;
+            case LOW:
+                return DURABILITY_MAX - clamped;
+            default:
+                return 0;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package org.nguyendevs.simpleautotools.managers;
+
+import org.bukkit.Material;
+
+/**
+ * Result of a tool or weapon selection
+ * Carries the source slot so the switch step never has to search for the item again
+ */
+public final class ToolSelection {
+
+    private final int slot;
+    private final Material material;
+    private final int tier;
+    private final long score;
+
+    public ToolSelection(int slot, Material material, int tier, long score) {
+        this.slot = slot;
+        this.material = material;
+        this.tier = tier;
+        this.score = score;
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+
+    public Material getMaterial() {
+        return material;
+    }
+
+    public int getTier() {
+        return tier;
+    }
+
+    public long getScore() {
+        return score;
+    }
+}
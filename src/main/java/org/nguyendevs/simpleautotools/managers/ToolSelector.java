@@ -0,0 +1,113 @@
+package org.nguyendevs.simpleautotools.managers;
+
+import org.bukkit.Material;
+import org.nguyendevs.simpleautotools.config.ConfigSnapshot;
+import org.nguyendevs.simpleautotools.config.ConfigSnapshot.Feature;
+import org.nguyendevs.simpleautotools.utils.TagBasedToolUtils;
+import org.nguyendevs.simpleautotools.utils.ToolType;
+
+/**
+ * Picks the best slot out of a ToolInventoryIndex
+ *
+ * Pure function of the index, the config snapshot and the compiled
+ * priority profile: no player, plugin or scheduler access, so it can be
+ * benchmarked and reasoned about on its own. Caching and the actual
+ * switch stay in RefactoredToolSwitchManager.
+ */
+public final class ToolSelector {
+
+    private ToolSelector() {
+    }
+
+    /**
+     * Select the best tool for a block, or null if no searched slot qualifies
+     * Uses Tag-based harvest checking
+     *
+     * @param profile    the player's priority profile (PriorityManager#getProfile)
+     * @param conditions packed player state for DIG_SPEED (DigSpeedCalculator#conditions)
+     */
+    public static ToolSelection selectTool(ToolInventoryIndex index, ConfigSnapshot config, PriorityProfile profile,
+                                           ToolType toolType, Material blockType, int conditions) {
+        int[] ranks = profile.getRanks(toolType);
+        boolean searchHotbar = config.isEnabled(Feature.SEARCH_HOTBAR);
+        boolean searchInv = config.isEnabled(Feature.SEARCH_INVENTORY);
+        boolean checkHarvest = config.isEnabled(Feature.CHECK_HARVEST_LEVEL);
+
+        // Smart enchantment tiebreakers only depend on the block
+        boolean smart = config.isEnabled(Feature.SMART_ENCHANTMENT);
+        boolean silkBonus = smart && TagBasedToolUtils.prefersSilkTouch(blockType);
+        boolean fortuneBonus = smart && TagBasedToolUtils.benefitsFromFortune(blockType);
+
+        // Only visit the slots the index knows hold this tool type
+        int bestSlot = -1;
+        long bestScore = Long.MIN_VALUE;
+
+        int count = index.getSlotCount(toolType);
+        for (int i = 0; i < count; i++) {
+            int slot = index.getSlot(toolType, i);
+            if (!isSearched(slot, searchHotbar, searchInv)) continue;
+
+            // Check if tool can actually harvest this block
+            if (checkHarvest && !TagBasedToolUtils.canHarvest(index.getMaterial(slot), blockType)) continue;
+
+            // Strictly greater keeps the first slot on ties, like a stable sort would
+            long score = ToolScorer.score(index, slot, config, profile, ranks, silkBonus, fortuneBonus,
+                    blockType, conditions);
+            if (score > bestScore) {
+                bestScore = score;
+                bestSlot = slot;
+            }
+        }
+
+        if (bestSlot == -1) {
+            return null;
+        }
+        return new ToolSelection(bestSlot, index.getMaterial(bestSlot), index.getTier(bestSlot), bestScore);
+    }
+
+    /**
+     * Select the weapon with the highest effective DPS against an entity category,
+     * or null if no searched slot holds one
+     * Equal DPS falls back to the priority.yml score of each weapon's own type
+     *
+     * @param category entity category from WeaponStats#getCategory
+     */
+    public static ToolSelection selectWeapon(ToolInventoryIndex index, ConfigSnapshot config,
+                                             PriorityProfile profile, int category) {
+        int[] swordRanks = profile.getRanks(ToolType.SWORD);
+        int[] axeRanks = profile.getRanks(ToolType.AXE);
+        boolean searchHotbar = config.isEnabled(Feature.SEARCH_HOTBAR);
+        boolean searchInv = config.isEnabled(Feature.SEARCH_INVENTORY);
+
+        int bestSlot = -1;
+        int bestDps = -1;
+        long bestScore = Long.MIN_VALUE;
+
+        int count = index.getWeaponCount();
+        for (int i = 0; i < count; i++) {
+            int slot = index.getWeaponSlot(i);
+            if (!isSearched(slot, searchHotbar, searchInv)) continue;
+
+            int dps = WeaponScorer.dps(index, slot, category);
+            if (dps < bestDps) continue;
+
+            int[] ranks = TagBasedToolUtils.getItemToolType(index.getMaterial(slot)) == ToolType.SWORD
+                    ? swordRanks : axeRanks;
+            long score = ToolScorer.score(index, slot, config, profile, ranks, false, false, null, 0);
+            if (dps > bestDps || score > bestScore) {
+                bestDps = dps;
+                bestScore = score;
+                bestSlot = slot;
+            }
+        }
+
+        if (bestSlot == -1) {
+            return null;
+        }
+        return new ToolSelection(bestSlot, index.getMaterial(bestSlot), index.getTier(bestSlot), bestDps);
+    }
+
+    static boolean isSearched(int slot, boolean searchHotbar, boolean searchInv) {
+        return slot < 9 ? searchHotbar : searchInv;
+    }
+}
@@ -0,0 +1,50 @@
+package org.nguyendevs.simpleautotools.managers;
+
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+import org.nguyendevs.simpleautotools.utils.EnchantmentIds;
+import org.nguyendevs.simpleautotools.utils.WeaponStats;
+
+/**
+ * Effective damage per second of an indexed weapon against an entity category
+ *
+ * dps = (base damage + enchantment bonus) * attack speed, in half points times
+ * tenths of attacks per second. Enchantment bonuses follow vanilla:
+ * - Sharpness: 0.5 * level + 0.5 (1 + level half points), any target
+ * - Smite: 2.5 * level (5 * level half points), undead only
+ * - Bane of Arthropods: 2.5 * level (5 * level half points), arthropods only
+ * Critical hits and sweeping are left out; they scale every weapon alike.
+ */
+public final class WeaponScorer {
+
+    private static final int SHARPNESS_ID = EnchantmentIds.of(Enchantment.DAMAGE_ALL);
+    private static final int SMITE_ID = EnchantmentIds.of(Enchantment.DAMAGE_UNDEAD);
+    private static final int BANE_ID = EnchantmentIds.of(Enchantment.DAMAGE_ARTHROPODS);
+
+    private WeaponScorer() {
+    }
+
+    /**
+     * @param category entity category from WeaponStats#getCategory
+     */
+    public static int dps(ToolInventoryIndex index, int slot, int category) {
+        Material material = index.getMaterial(slot);
+        int damage = WeaponStats.getDamageHalfPoints(material);
+
+        int sharpness = level(index, slot, SHARPNESS_ID);
+        if (sharpness > 0) {
+            damage += sharpness + 1;
+        }
+        if (category == WeaponStats.CATEGORY_UNDEAD) {
+            damage += 5 * level(index, slot, SMITE_ID);
+        } else if (category == WeaponStats.CATEGORY_ARTHROPOD) {
+            damage += 5 * level(index, slot, BANE_ID);
+        }
+
+        return damage * WeaponStats.getSpeedTenths(material);
+    }
+
+    private static int level(ToolInventoryIndex index, int slot, int enchantmentId) {
+        return enchantmentId != -1 ? index.getEnchantmentLevel(slot, enchantmentId) : 0;
+    }
+}
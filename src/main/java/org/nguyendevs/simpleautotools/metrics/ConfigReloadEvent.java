@@ -0,0 +1,44 @@
+package org.nguyendevs.simpleautotools.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for /sat reload
+ */
+@Name("simpleautotools.ConfigReload")
+@Label("Config Reload")
+@Category("SimpleAutoTools")
+@Description("Reload of config.yml, language.yml and priority.yml")
+@StackTrace(false)
+public final class ConfigReloadEvent extends jdk.jfr.Event {
+
+    private static final EventType TYPE = EventType.getEventType(ConfigReloadEvent.class);
+
+    @Label("Success")
+    private boolean success;
+
+    /**
+     * Start an event if a recording wants it, otherwise return null
+     */
+    public static ConfigReloadEvent beginIfEnabled() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        ConfigReloadEvent event = new ConfigReloadEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(boolean success) {
+        end();
+        if (shouldCommit()) {
+            this.success = success;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.nguyendevs.simpleautotools.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one playerdata write by DataManager
+ */
+@Name("simpleautotools.DataSave")
+@Label("Player Data Save")
+@Category("SimpleAutoTools")
+@Description("Write of the player data file")
+@StackTrace(false)
+public final class DataSaveEvent extends jdk.jfr.Event {
+
+    private static final EventType TYPE = EventType.getEventType(DataSaveEvent.class);
+
+    @Label("Entries Written")
+    private int entries;
+
+    @Label("Bytes Written")
+    @DataAmount
+    private long bytes;
+
+    /**
+     * Start an event if a recording wants it, otherwise return null
+     */
+    public static DataSaveEvent beginIfEnabled() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        DataSaveEvent event = new DataSaveEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(int entries, long bytes) {
+        end();
+        if (shouldCommit()) {
+            this.entries = entries;
+            this.bytes = bytes;
+            commit();
+        }
+    }
+}
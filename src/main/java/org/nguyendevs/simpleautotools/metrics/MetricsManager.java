@@ -0,0 +1,132 @@
+package org.nguyendevs.simpleautotools.metrics;
+
+import org.nguyendevs.simpleautotools.SimpleAutoTools;
+import org.nguyendevs.simpleautotools.config.ConfigSnapshot;
+import org.nguyendevs.simpleautotools.config.ConfigSnapshot.Feature;
+import org.nguyendevs.simpleautotools.scheduler.TaskScheduler;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency histograms for every listener and selection phase
+ *
+ * Usage on a hot path:
+ *   long start = metrics.start();
+ *   ...
+ *   metrics.record(Phase.SCAN, start);
+ * start() returns 0 while metrics are disabled and record() then does nothing,
+ * so the disabled cost is one volatile read.
+ */
+public class MetricsManager {
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final SimpleAutoTools plugin;
+    private final LatencyHistogram[] histograms = new LatencyHistogram[PHASES.length];
+    private volatile boolean enabled;
+    private volatile long resetAt = System.nanoTime();
+    private TaskScheduler.TaskHandle dumpTask;
+
+    public MetricsManager(SimpleAutoTools plugin) {
+        this.plugin = plugin;
+        for (Phase phase : PHASES) {
+            histograms[phase.ordinal()] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Apply metrics.* from the current config and (re)schedule the CSV dump
+     */
+    public void applyConfig() {
+        ConfigSnapshot config = plugin.getConfigManager().getSnapshot();
+        enabled = config.isEnabled(Feature.METRICS);
+
+        if (dumpTask != null) {
+            dumpTask.cancel();
+            dumpTask = null;
+        }
+
+        int interval = config.getMetricsDumpIntervalSeconds();
+        if (enabled && interval > 0) {
+            dumpTask = plugin.getTaskScheduler().runAsyncRepeating(this::dumpCsv, interval, TimeUnit.SECONDS);
+        }
+    }
+
+    public void stop() {
+        if (dumpTask != null) {
+            dumpTask.cancel();
+            dumpTask = null;
+        }
+    }
+
+    public long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    public void record(Phase phase, long start) {
+        if (start != 0) {
+            histograms[phase.ordinal()].record(System.nanoTime() - start);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public LatencyHistogram.Snapshot snapshot(Phase phase) {
+        return histograms[phase.ordinal()].snapshot();
+    }
+
+    /**
+     * Seconds since startup or the last reset, the base for per-second rates
+     */
+    public double getElapsedSeconds() {
+        return Math.max(1e-9, (System.nanoTime() - resetAt) / 1e9);
+    }
+
+    public void reset() {
+        for (LatencyHistogram histogram : histograms) {
+            histogram.reset();
+        }
+        resetAt = System.nanoTime();
+    }
+
+    /**
+     * Append one row per phase to metrics.csv; values are cumulative since the last reset
+     */
+    private void dumpCsv() {
+        File file = new File(plugin.getDataFolder(), "metrics.csv");
+        boolean newFile = !file.exists();
+        long now = System.currentTimeMillis();
+        double elapsed = getElapsedSeconds();
+
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+             PrintWriter out = new PrintWriter(writer)) {
+            if (newFile) {
+                out.println("timestamp,phase,count,per_second,mean_us,p50_us,p95_us,p99_us,max_us");
+            }
+
+            for (Phase phase : PHASES) {
+                LatencyHistogram.Snapshot snapshot = snapshot(phase);
+                out.println(String.format(Locale.ROOT, "%d,%s,%d,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f",
+                        now, phase.getId(), snapshot.getCount(), snapshot.getCount() / elapsed,
+                        snapshot.getMeanNanos() / 1000.0,
+                        snapshot.getPercentileNanos(50) / 1000.0,
+                        snapshot.getPercentileNanos(95) / 1000.0,
+                        snapshot.getPercentileNanos(99) / 1000.0,
+                        snapshot.getMaxNanos() / 1000.0));
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("Could not write metrics.csv: " + e.getMessage());
+        }
+    }
+}
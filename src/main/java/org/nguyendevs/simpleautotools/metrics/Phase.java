@@ -0,0 +1,28 @@
+package org.nguyendevs.simpleautotools.metrics;
+
+/**
+ * Instrumented code paths
+ */
+public enum Phase {
+    INTERACT_LISTENER("interact-listener"),
+    BLOCK_DAMAGE_LISTENER("block-damage-listener"),
+    DAMAGE_LISTENER("damage-listener"),
+    PRE_HIT_LISTENER("pre-hit-listener"),
+    CLASSIFY("classify"),
+    SCAN("scan"),
+    SCORE("score"),
+    SWITCH("switch");
+
+    private final String id;
+
+    Phase(String id) {
+        this.id = id;
+    }
+
+    /**
+     * Name shown in /sat stats and metrics.csv
+     */
+    public String getId() {
+        return id;
+    }
+}
@@ -0,0 +1,61 @@
+package org.nguyendevs.simpleautotools.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.bukkit.Material;
+import org.nguyendevs.simpleautotools.managers.ToolSelection;
+import org.nguyendevs.simpleautotools.utils.ToolType;
+
+/**
+ * JFR event for one block tool selection (index refresh, scoring and switch)
+ */
+@Name("simpleautotools.ToolSelection")
+@Label("Tool Selection")
+@Category("SimpleAutoTools")
+@Description("Best tool selection for a block")
+@StackTrace(false)
+public final class ToolSelectionEvent extends jdk.jfr.Event {
+
+    private static final EventType TYPE = EventType.getEventType(ToolSelectionEvent.class);
+
+    @Label("Block")
+    private String block;
+
+    @Label("Tool Type")
+    private String toolType;
+
+    @Label("Candidates Scanned")
+    private int candidates;
+
+    @Label("Chosen Tier")
+    @Description("Material tier of the chosen tool, -1 if none qualified")
+    private int chosenTier;
+
+    /**
+     * Start an event if a recording wants it, otherwise return null
+     * Keeps the hot path allocation-free when JFR is not recording
+     */
+    public static ToolSelectionEvent beginIfEnabled() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        ToolSelectionEvent event = new ToolSelectionEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(Material block, ToolType toolType, int candidates, ToolSelection selection) {
+        end();
+        if (shouldCommit()) {
+            this.block = block.name();
+            this.toolType = toolType.name();
+            this.candidates = candidates;
+            this.chosenTier = selection != null ? selection.getTier() : -1;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.nguyendevs.simpleautotools.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.bukkit.entity.EntityType;
+import org.nguyendevs.simpleautotools.managers.ToolSelection;
+
+/**
+ * JFR event for one weapon selection (index refresh, scoring and switch)
+ */
+@Name("simpleautotools.WeaponSelection")
+@Label("Weapon Selection")
+@Category("SimpleAutoTools")
+@Description("Best weapon selection for an attack")
+@StackTrace(false)
+public final class WeaponSelectionEvent extends jdk.jfr.Event {
+
+    private static final EventType TYPE = EventType.getEventType(WeaponSelectionEvent.class);
+
+    @Label("Target")
+    private String target;
+
+    @Label("Candidates Scanned")
+    private int candidates;
+
+    @Label("Chosen Weapon")
+    private String chosenWeapon;
+
+    @Label("Chosen Tier")
+    private int chosenTier;
+
+    /**
+     * Start an event if a recording wants it, otherwise return null
+     */
+    public static WeaponSelectionEvent beginIfEnabled() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        WeaponSelectionEvent event = new WeaponSelectionEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(EntityType target, int candidates, ToolSelection selection) {
+        end();
+        if (shouldCommit()) {
+            this.target = target != null ? target.name() : null;
+            this.candidates = candidates;
+            this.chosenWeapon = selection != null ? selection.getMaterial().name() : null;
+            this.chosenTier = selection != null ? selection.getTier() : -1;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package org.nguyendevs.simpleautotools.scheduler;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single main thread: everything goes through the BukkitScheduler
+ */
+public class BukkitTaskScheduler implements TaskScheduler {
+
+    private final Plugin plugin;
+
+    public BukkitTaskScheduler(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean runForPlayer(Player player, Runnable task) {
+        Bukkit.getScheduler().runTask(plugin, task);
+        return true;
+    }
+
+    @Override
+    public void runGlobal(Runnable task) {
+        Bukkit.getScheduler().runTask(plugin, task);
+    }
+
+    @Override
+    public TaskHandle runAsyncRepeating(Runnable task, long period, TimeUnit unit) {
+        long ticks = Math.max(1, unit.toMillis(period) / 50);
+        BukkitTask scheduled = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, task, ticks, ticks);
+        return scheduled::cancel;
+    }
+
+    @Override
+    public void cancelTasks() {
+        Bukkit.getScheduler().cancelTasks(plugin);
+    }
+}
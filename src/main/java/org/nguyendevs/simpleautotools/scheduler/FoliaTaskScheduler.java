@@ -0,0 +1,113 @@
+package org.nguyendevs.simpleautotools.scheduler;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Region-threaded servers (Folia): player work goes to the player's EntityScheduler
+ *
+ * The plugin compiles against the Spigot API, so the Folia scheduler API is
+ * resolved reflectively once at startup.
+ */
+public class FoliaTaskScheduler implements TaskScheduler {
+
+    private static final String REGIONIZED_SERVER = "io.papermc.paper.threadedregions.RegionizedServer";
+    private static final String ENTITY_SCHEDULER = "io.papermc.paper.threadedregions.scheduler.EntityScheduler";
+    private static final String GLOBAL_SCHEDULER = "io.papermc.paper.threadedregions.scheduler.GlobalRegionScheduler";
+    private static final String ASYNC_SCHEDULER = "io.papermc.paper.threadedregions.scheduler.AsyncScheduler";
+    private static final String SCHEDULED_TASK = "io.papermc.paper.threadedregions.scheduler.ScheduledTask";
+
+    private final Plugin plugin;
+    private final Method getEntityScheduler;
+    private final Method runOnEntity;
+    private final Object globalScheduler;
+    private final Object asyncScheduler;
+    private final Method runGlobal;
+    private final Method cancelGlobalTasks;
+    private final Method cancelAsyncTasks;
+    private final Method runAsyncAtFixedRate;
+    private final Method cancelTask;
+
+    public FoliaTaskScheduler(Plugin plugin) throws ReflectiveOperationException {
+        this.plugin = plugin;
+
+        // Entity#getScheduler().run(plugin, task -> ..., retired)
+        this.getEntityScheduler = Entity.class.getMethod("getScheduler");
+        this.runOnEntity = Class.forName(ENTITY_SCHEDULER)
+                .getMethod("run", Plugin.class, Consumer.class, Runnable.class);
+
+        this.globalScheduler = Bukkit.class.getMethod("getGlobalRegionScheduler").invoke(null);
+        this.asyncScheduler = Bukkit.class.getMethod("getAsyncScheduler").invoke(null);
+        this.runGlobal = Class.forName(GLOBAL_SCHEDULER).getMethod("execute", Plugin.class, Runnable.class);
+        this.cancelGlobalTasks = Class.forName(GLOBAL_SCHEDULER).getMethod("cancelTasks", Plugin.class);
+        this.cancelAsyncTasks = Class.forName(ASYNC_SCHEDULER).getMethod("cancelTasks", Plugin.class);
+        this.runAsyncAtFixedRate = Class.forName(ASYNC_SCHEDULER).getMethod("runAtFixedRate",
+                Plugin.class, Consumer.class, long.class, long.class, TimeUnit.class);
+        this.cancelTask = Class.forName(SCHEDULED_TASK).getMethod("cancel");
+    }
+
+    public static boolean isSupported() {
+        try {
+            Class.forName(REGIONIZED_SERVER);
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean runForPlayer(Player player, Runnable task) {
+        try {
+            Object scheduler = getEntityScheduler.invoke(player);
+            Consumer<Object> body = scheduledTask -> task.run();
+            // Returns null when the player has already been removed from the world
+            return runOnEntity.invoke(scheduler, plugin, body, null) != null;
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            plugin.getLogger().warning("Could not schedule task for " + player.getName() + ": " + e);
+            return false;
+        }
+    }
+
+    @Override
+    public void runGlobal(Runnable task) {
+        try {
+            runGlobal.invoke(globalScheduler, plugin, task);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            plugin.getLogger().warning("Could not schedule global task: " + e);
+        }
+    }
+
+    @Override
+    public TaskHandle runAsyncRepeating(Runnable task, long period, TimeUnit unit) {
+        try {
+            Consumer<Object> body = scheduledTask -> task.run();
+            Object scheduled = runAsyncAtFixedRate.invoke(asyncScheduler, plugin, body, period, period, unit);
+            return () -> {
+                try {
+                    cancelTask.invoke(scheduled);
+                } catch (IllegalAccessException | InvocationTargetException e) {
+                    plugin.getLogger().warning("Could not cancel scheduled task: " + e);
+                }
+            };
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Could not schedule async task", e);
+        }
+    }
+
+    @Override
+    public void cancelTasks() {
+        try {
+            cancelGlobalTasks.invoke(globalScheduler, plugin);
+            cancelAsyncTasks.invoke(asyncScheduler, plugin);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            plugin.getLogger().warning("Could not cancel scheduled tasks: " + e);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.nguyendevs.simpleautotools.scheduler;
+
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Where the plugin's deferred work runs
+ *
+ * On Bukkit/Spigot/Paper everything goes to the main thread. On Folia-style
+ * region-threaded servers there is no main thread: work touching a player
+ * must run on the scheduler of the region that owns that player.
+ */
+public interface TaskScheduler {
+
+    /**
+     * Run a task on the next tick of the thread that owns the player
+     * Returns false if the task could not be scheduled (player already removed)
+     */
+    boolean runForPlayer(Player player, Runnable task);
+
+    /**
+     * Run a task on the next tick of the main thread, or the global region on Folia
+     * For work that belongs to no player, such as replying to the console
+     */
+    void runGlobal(Runnable task);
+
+    /**
+     * Run a task off the server threads at a fixed rate, first run after one period
+     * The task must not touch the world or players
+     */
+    TaskHandle runAsyncRepeating(Runnable task, long period, TimeUnit unit);
+
+    /**
+     * Cancel everything this plugin scheduled
+     */
+    void cancelTasks();
+
+    /**
+     * Pick the implementation matching the running server
+     */
+    static TaskScheduler create(Plugin plugin) {
+        if (FoliaTaskScheduler.isSupported()) {
+            try {
+                return new FoliaTaskScheduler(plugin);
+            } catch (ReflectiveOperationException e) {
+                plugin.getLogger().severe("Region-threaded server detected but its scheduler API could not be found!");
+                e.printStackTrace();
+            }
+        }
+        return new BukkitTaskScheduler(plugin);
+    }
+
+    /**
+     * Cancels one scheduled task
+     */
+    interface TaskHandle {
+        void cancel();
+    }
+}
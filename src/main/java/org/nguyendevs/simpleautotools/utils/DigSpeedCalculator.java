@@ -0,0 +1,190 @@
+package org.nguyendevs.simpleautotools.utils;
+
+import org.bukkit.Material;
+import org.bukkit.Tag;
+
+/**
+ * Vanilla break-time model used by the DIG_SPEED priority
+ *
+ * Follows Player#getDestroySpeed and BlockBehaviour#getDestroyProgress of
+ * Java Edition 1.19: tool speed, Efficiency, Haste (or Conduit Power),
+ * Mining Fatigue, the underwater penalty and the airborne penalty.
+ * Shears and swords have per-block speeds (ShearsItem, SwordItem), the
+ * other tools one speed per tier.
+ *
+ * Player state is passed around as one packed int (see conditions()) so
+ * scoring stays primitive and the state can be part of a cache key.
+ */
+public final class DigSpeedCalculator {
+
+    // Break ticks are clamped to this; also returned for unbreakable blocks
+    public static final int MAX_TICKS = 4095;
+
+    // Packed player conditions: bits 0-3 haste level, bits 4-7 mining fatigue level
+    private static final int LEVEL_MAX = 15;
+    private static final int FATIGUE_SHIFT = 4;
+    public static final int UNDERWATER = 1 << 8;
+    public static final int AIRBORNE = 1 << 9;
+
+    // Mining Fatigue multipliers per level, anything above 4 uses the last one
+    private static final float[] FATIGUE_FACTORS = {1.0F, 0.3F, 0.09F, 0.0027F, 8.1E-4F};
+
+    private static final float[] TOOL_SPEEDS = new float[Material.values().length];
+
+    // Written before hardnessTable, so they are set once hardnessTable() returns
+    private static volatile float[] shearsSpeedTable;
+    private static volatile float[] swordSpeedTable;
+    private static volatile float[] hardnessTable;
+
+    static {
+        for (Material material : Material.values()) {
+            TOOL_SPEEDS[material.ordinal()] = computeToolSpeed(material);
+        }
+    }
+
+    private DigSpeedCalculator() {
+    }
+
+    /**
+     * Read block hardness and shears and sword speed for every block Material
+     * Called on enable and on reload next to TagBasedToolUtils.buildTables()
+     */
+    public static void buildTables() {
+        Material[] materials = Material.values();
+        float[] hardness = new float[materials.length];
+        float[] shearsSpeeds = new float[materials.length];
+        float[] swordSpeeds = new float[materials.length];
+
+        for (Material material : materials) {
+            boolean block = !material.isLegacy() && material.isBlock();
+            hardness[material.ordinal()] = block ? material.getHardness() : -1.0F;
+            shearsSpeeds[material.ordinal()] = block ? computeShearsSpeed(material) : 1.0F;
+            swordSpeeds[material.ordinal()] = block ? computeSwordSpeed(material) : 1.0F;
+        }
+
+        shearsSpeedTable = shearsSpeeds;
+        swordSpeedTable = swordSpeeds;
+        hardnessTable = hardness;
+    }
+
+    private static float[] hardnessTable() {
+        float[] table = hardnessTable;
+        if (table == null) {
+            buildTables();
+            table = hardnessTable;
+        }
+        return table;
+    }
+
+    private static float computeShearsSpeed(Material block) {
+        if (block == Material.COBWEB || Tag.LEAVES.isTagged(block)) return 15.0F;
+        if (Tag.WOOL.isTagged(block)) return 5.0F;
+        if (block == Material.VINE || block == Material.GLOW_LICHEN) return 2.0F;
+        return 1.0F;
+    }
+
+    /**
+     * SwordItem: 15 on cobweb, 1.5 on plants, leaves and gourds, bare-hand speed elsewhere
+     * Plants are read from the flower, sapling, crop and replaceable plant tags
+     */
+    private static float computeSwordSpeed(Material block) {
+        if (block == Material.COBWEB) return 15.0F;
+        if (Tag.LEAVES.isTagged(block) || Tag.FLOWERS.isTagged(block) || Tag.SAPLINGS.isTagged(block)
+                || Tag.CROPS.isTagged(block) || Tag.REPLACEABLE_PLANTS.isTagged(block)) {
+            return 1.5F;
+        }
+        if (block == Material.PUMPKIN || block == Material.CARVED_PUMPKIN
+                || block == Material.JACK_O_LANTERN || block == Material.MELON) {
+            return 1.5F;
+        }
+        return 1.0F;
+    }
+
+    private static float computeToolSpeed(Material material) {
+        String name = material.name();
+        if (!name.endsWith("_PICKAXE") && !name.endsWith("_AXE") && !name.endsWith("_SHOVEL") && !name.endsWith("_HOE")) {
+            return 1.0F;
+        }
+
+        if (name.startsWith("NETHERITE_")) return 9.0F;
+        if (name.startsWith("DIAMOND_")) return 8.0F;
+        if (name.startsWith("IRON_")) return 6.0F;
+        if (name.startsWith("GOLDEN_")) return 12.0F;
+        if (name.startsWith("STONE_")) return 4.0F;
+        if (name.startsWith("WOODEN_")) return 2.0F;
+        return 1.0F;
+    }
+
+    /**
+     * Pack the player state that affects mining speed
+     *
+     * @param hasteLevel   Haste (or Conduit Power) amplifier + 1, 0 if none
+     * @param fatigueLevel Mining Fatigue amplifier + 1, 0 if none
+     * @param underwater   eyes in water without Aqua Affinity
+     * @param airborne     not standing on the ground
+     */
+    public static int conditions(int hasteLevel, int fatigueLevel, boolean underwater, boolean airborne) {
+        int packed = Math.min(Math.max(hasteLevel, 0), LEVEL_MAX)
+                | Math.min(Math.max(fatigueLevel, 0), FATIGUE_FACTORS.length - 1) << FATIGUE_SHIFT;
+        if (underwater) packed |= UNDERWATER;
+        if (airborne) packed |= AIRBORNE;
+        return packed;
+    }
+
+    /**
+     * Expected ticks to break a block with a tool, 0 for instant breaking
+     * Any tool is accepted; one that cannot harvest the block gets the vanilla penalty
+     *
+     * @param efficiency level of Efficiency on the tool
+     * @param conditions packed player state from conditions()
+     */
+    public static int getBreakTicks(Material tool, int efficiency, Material block, int conditions) {
+        float hardness = hardnessTable()[block.ordinal()];
+        if (hardness < 0) {
+            return MAX_TICKS;
+        }
+        if (hardness == 0) {
+            return 0;
+        }
+
+        float speed = toolSpeed(tool, block);
+        // Efficiency only helps a tool that is already faster than a bare hand on this block
+        if (speed > 1.0F && efficiency > 0) {
+            speed += efficiency * efficiency + 1;
+        }
+
+        int haste = conditions & LEVEL_MAX;
+        if (haste > 0) {
+            speed *= 1.0F + haste * 0.2F;
+        }
+
+        speed *= FATIGUE_FACTORS[(conditions >>> FATIGUE_SHIFT) & LEVEL_MAX];
+
+        if ((conditions & UNDERWATER) != 0) {
+            speed /= 5.0F;
+        }
+        if ((conditions & AIRBORNE) != 0) {
+            speed /= 5.0F;
+        }
+
+        // Tools that cannot harvest the block (wrong type or tier) break it 100/30 times slower
+        float progress = speed / hardness / (TagBasedToolUtils.canHarvest(tool, block) ? 30.0F : 100.0F);
+        if (progress >= 1.0F) {
+            return 0;
+        }
+        if (progress <= 0) {
+            return MAX_TICKS;
+        }
+        return (int) Math.min(Math.ceil(1.0F / progress), MAX_TICKS);
+    }
+
+    private static float toolSpeed(Material tool, Material block) {
+        if (tool == Material.SHEARS) {
+            return shearsSpeedTable[block.ordinal()];
+        }
+        if (TagBasedToolUtils.getItemToolType(tool) == ToolType.SWORD) {
+            return swordSpeedTable[block.ordinal()];
+        }
+        return TOOL_SPEEDS[tool.ordinal()];
+    }
+}
@@ -0,0 +1,7 @@
+package org.nguyendevs.simpleautotools.utils;
+
+public enum DurabilityPriority {
+    HIGH,
+    LOW,
+    NONE
+}
@@ -0,0 +1,41 @@
+package org.nguyendevs.simpleautotools.utils;
+
+import org.bukkit.enchantments.Enchantment;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dense integer ids for enchantments
+ * Lets per-slot enchantment levels live in plain byte arrays
+ */
+public final class EnchantmentIds {
+
+    private static final Enchantment[] ENCHANTMENTS = Enchantment.values();
+    private static final Map<Enchantment, Integer> IDS = new HashMap<>();
+
+    static {
+        for (int i = 0; i < ENCHANTMENTS.length; i++) {
+            IDS.put(ENCHANTMENTS[i], i);
+        }
+    }
+
+    private EnchantmentIds() {
+    }
+
+    public static int count() {
+        return ENCHANTMENTS.length;
+    }
+
+    /**
+     * Get the id of an enchantment, or -1 if it was registered after startup
+     */
+    public static int of(Enchantment enchantment) {
+        Integer id = IDS.get(enchantment);
+        return id != null ? id : -1;
+    }
+
+    public static Enchantment get(int id) {
+        return ENCHANTMENTS[id];
+    }
+}
@@ -3,5 +3,6 @@ package org.nguyendevs.simpleautotools.utils;
 public enum PriorityType {
     ENCHANTMENT,
     MATERIAL,
-    DURABILITY
+    DURABILITY,
+    DIG_SPEED
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import org.bukkit.Material;
 import org.bukkit.Tag;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.Damageable;
+import org.bukkit.inventory.meta.ItemMeta;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -20,6 +21,27 @@ public class TagBasedToolUtils {
     private static final Set<Material> SHOVEL_MATERIALS = new HashSet<>();
     private static final Set<Material> HOE_MATERIALS = new HashSet<>();
 
+    // Block classification table, indexed by Material.ordinal()
+    // Layout: bits 0-3 tool type, bits 4-11 harvest tier + 1, bit 12 silk touch, bit 13 fortune,
+    // bit 14 drops only with the correct tool
+    private static final int TOOL_TYPE_MASK = 0xF;
+    private static final int TIER_SHIFT = 4;
+    private static final int TIER_MASK = 0xFF;
+    private static final int TIER_UNMINEABLE = 0xFF;
+    private static final int SILK_TOUCH_FLAG = 1 << 12;
+    private static final int FORTUNE_FLAG = 1 << 13;
+    private static final int CORRECT_TOOL_FLAG = 1 << 14;
+
+    // Item classification table, indexed by Material.ordinal()
+    // Layout: bits 0-3 tool type, bits 4-7 material tier + 1, bit 8 weapon, bits 16-31 max durability
+    private static final int ITEM_TIER_MASK = 0xF;
+    private static final int WEAPON_FLAG = 1 << 8;
+    private static final int DURABILITY_SHIFT = 16;
+
+    private static final ToolType[] TOOL_TYPES = ToolType.values();
+    private static volatile int[] blockTable;
+    private static volatile int[] itemTable;
+
     static {
         initializeCustomTags();
     }
@@ -75,36 +97,103 @@ public class TagBasedToolUtils {
         HOE_MATERIALS.add(Material.WARPED_WART_BLOCK);
     }
 
+    /**
+     * Build the block and item classification tables from the current tags
+     * Called on enable and on reload, so every lookup afterwards is a single array read
+     */
+    public static void buildTables() {
+        Material[] materials = Material.values();
+        int[] blocks = new int[materials.length];
+        int[] items = new int[materials.length];
+
+        for (Material material : materials) {
+            if (material.isLegacy()) {
+                blocks[material.ordinal()] = ToolType.NONE.ordinal();
+                items[material.ordinal()] = ToolType.NONE.ordinal();
+                continue;
+            }
+            blocks[material.ordinal()] = classifyBlock(material);
+            items[material.ordinal()] = classifyItem(material);
+        }
+
+        itemTable = items;
+        blockTable = blocks;
+    }
+
+    private static int[] itemTable() {
+        int[] table = itemTable;
+        if (table == null) {
+            buildTables();
+            table = itemTable;
+        }
+        return table;
+    }
+
+    /**
+     * Get the packed classification of a block
+     * Two blocks with the same value are handled identically by tool selection
+     */
+    public static int getBlockClassification(Material blockMaterial) {
+        int[] table = blockTable;
+        if (table == null) {
+            buildTables();
+            table = blockTable;
+        }
+        return table[blockMaterial.ordinal()];
+    }
+
+    private static int classifyBlock(Material blockMaterial) {
+        int tier = computeRequiredHarvestTier(blockMaterial);
+        int packedTier = tier == Integer.MAX_VALUE ? TIER_UNMINEABLE : tier + 1;
+
+        int entry = computeRequiredToolType(blockMaterial).ordinal();
+        entry |= packedTier << TIER_SHIFT;
+        if (computePrefersSilkTouch(blockMaterial)) entry |= SILK_TOUCH_FLAG;
+        if (computeBenefitsFromFortune(blockMaterial)) entry |= FORTUNE_FLAG;
+        if (computeRequiresCorrectTool(blockMaterial)) entry |= CORRECT_TOOL_FLAG;
+        return entry;
+    }
+
+    private static int classifyItem(Material material) {
+        ToolType toolType = computeItemToolType(material);
+        int entry = toolType.ordinal();
+        entry |= (computeMaterialTier(material) + 1) << TIER_SHIFT;
+        if (toolType == ToolType.SWORD || toolType == ToolType.AXE) entry |= WEAPON_FLAG;
+        entry |= material.getMaxDurability() << DURABILITY_SHIFT;
+        return entry;
+    }
+
+    /**
+     * Get the tool type of an item (NONE if it is not a tool)
+     */
+    public static ToolType getItemToolType(Material material) {
+        return TOOL_TYPES[itemTable()[material.ordinal()] & TOOL_TYPE_MASK];
+    }
+
     /**
      * Check if a material is a tool of specific type
      */
     public static boolean isToolType(Material material, ToolType toolType) {
+        return getItemToolType(material) == toolType;
+    }
+
+    private static ToolType computeItemToolType(Material material) {
         String name = material.name();
 
-        switch (toolType) {
-            case PICKAXE:
-                return name.endsWith("_PICKAXE");
-            case AXE:
-                return name.endsWith("_AXE");
-            case SHOVEL:
-                return name.endsWith("_SHOVEL");
-            case HOE:
-                return name.endsWith("_HOE");
-            case SWORD:
-                return name.endsWith("_SWORD");
-            case SHEARS:
-                return material == Material.SHEARS;
-            default:
-                return false;
-        }
+        if (name.endsWith("_PICKAXE")) return ToolType.PICKAXE;
+        if (name.endsWith("_AXE")) return ToolType.AXE;
+        if (name.endsWith("_SHOVEL")) return ToolType.SHOVEL;
+        if (name.endsWith("_HOE")) return ToolType.HOE;
+        if (name.endsWith("_SWORD")) return ToolType.SWORD;
+        if (material == Material.SHEARS) return ToolType.SHEARS;
+        return ToolType.NONE;
     }
 
     /**
      * Check if a material is a weapon (sword or axe)
      */
     public static boolean isWeapon(Material material) {
-        String name = material.name();
-        return name.endsWith("_SWORD") || name.endsWith("_AXE");
+        return (itemTable()[material.ordinal()] & WEAPON_FLAG) != 0;
     }
 
     /**
@@ -112,6 +201,17 @@ public class TagBasedToolUtils {
      * Netherite(6) > Diamond(5) > Iron(4) > Golden(2) > Stone(1) > Wood(0)
      */
     public static int getMaterialTier(Material material) {
+        return ((itemTable()[material.ordinal()] >>> TIER_SHIFT) & ITEM_TIER_MASK) - 1;
+    }
+
+    /**
+     * Get the max durability of an item from the item table
+     */
+    public static int getMaxDurability(Material material) {
+        return itemTable()[material.ordinal()] >>> DURABILITY_SHIFT;
+    }
+
+    private static int computeMaterialTier(Material material) {
         String name = material.name();
 
         if (name.startsWith("NETHERITE_")) return 6;
@@ -129,10 +229,10 @@ public class TagBasedToolUtils {
      * Get remaining durability of a tool
      */
     public static int getRemainingDurability(ItemStack item) {
-        if (item.getItemMeta() instanceof Damageable) {
-            Damageable damageable = (Damageable) item.getItemMeta();
-            int maxDurability = item.getType().getMaxDurability();
-            int damage = damageable.getDamage();
+        ItemMeta meta = item.getItemMeta();
+        if (meta instanceof Damageable) {
+            int maxDurability = getMaxDurability(item.getType());
+            int damage = ((Damageable) meta).getDamage();
             return maxDurability - damage;
         }
         return 0;
@@ -141,8 +241,16 @@ public class TagBasedToolUtils {
     /**
      * Check if a tool can harvest a specific block (Tag-based)
      * This replaces the old pattern matching system
+     *
+     * Blocks that only drop with the correct tool (stone, ores, cobweb, snow)
+     * also need the tool type to match, so shears or a sword cannot harvest stone
      */
     public static boolean canHarvest(Material toolMaterial, Material blockMaterial) {
+        if ((getBlockClassification(blockMaterial) & CORRECT_TOOL_FLAG) != 0
+                && !isCorrectToolType(toolMaterial, blockMaterial)) {
+            return false;
+        }
+
         int toolTier = getMaterialTier(toolMaterial);
         int requiredTier = getRequiredHarvestTier(blockMaterial);
 
@@ -152,10 +260,38 @@ public class TagBasedToolUtils {
         return toolTier >= requiredTier;
     }
 
+    private static boolean isCorrectToolType(Material toolMaterial, Material blockMaterial) {
+        ToolType toolType = getItemToolType(toolMaterial);
+        if (toolType == getRequiredToolType(blockMaterial)) {
+            return true;
+        }
+        // Cobweb is classified as a shears block, but swords harvest it too
+        return blockMaterial == Material.COBWEB && toolType == ToolType.SWORD;
+    }
+
     /**
-     * Get required tool tier to harvest a block using Tags
+     * Whether a block drops nothing unless mined with the correct tool
+     * Covers pickaxe blocks except ice, plus cobweb and snow
+     */
+    private static boolean computeRequiresCorrectTool(Material blockMaterial) {
+        if (blockMaterial == Material.COBWEB || blockMaterial == Material.SNOW || blockMaterial == Material.SNOW_BLOCK) {
+            return true;
+        }
+        return computeRequiredToolType(blockMaterial) == ToolType.PICKAXE && !Tag.ICE.isTagged(blockMaterial);
+    }
+
+    /**
+     * Get required tool tier to harvest a block
      */
     private static int getRequiredHarvestTier(Material blockMaterial) {
+        int packedTier = (getBlockClassification(blockMaterial) >>> TIER_SHIFT) & TIER_MASK;
+        return packedTier == TIER_UNMINEABLE ? Integer.MAX_VALUE : packedTier - 1;
+    }
+
+    /**
+     * Get required tool tier to harvest a block using Tags
+     */
+    private static int computeRequiredHarvestTier(Material blockMaterial) {
         // Diamond pickaxe required (tier 5)
         if (Tag.NEEDS_DIAMOND_TOOL.isTagged(blockMaterial)) {
             return 5;
@@ -181,10 +317,17 @@ public class TagBasedToolUtils {
     }
 
     /**
-     * Determine which tool type is best for a block using Tags
+     * Determine which tool type is best for a block
      * This is the core method that replaces tool-blocks.yml pattern matching
      */
     public static ToolType getRequiredToolType(Material blockMaterial) {
+        return TOOL_TYPES[getBlockClassification(blockMaterial) & TOOL_TYPE_MASK];
+    }
+
+    /**
+     * Determine which tool type is best for a block using Tags
+     */
+    private static ToolType computeRequiredToolType(Material blockMaterial) {
         // PICKAXE - Check vanilla tags first
         if (Tag.MINEABLE_PICKAXE.isTagged(blockMaterial)) {
             return ToolType.PICKAXE;
@@ -242,6 +385,10 @@ public class TagBasedToolUtils {
      * Useful for enchantment priority
      */
     public static boolean prefersSilkTouch(Material blockMaterial) {
+        return (getBlockClassification(blockMaterial) & SILK_TOUCH_FLAG) != 0;
+    }
+
+    private static boolean computePrefersSilkTouch(Material blockMaterial) {
         // Glass and ice
         if (blockMaterial.name().contains("GLASS") ||
                 blockMaterial.name().contains("ICE")) {
@@ -261,6 +408,10 @@ public class TagBasedToolUtils {
      * Check if a block benefits from Fortune enchantment
      */
     public static boolean benefitsFromFortune(Material blockMaterial) {
+        return (getBlockClassification(blockMaterial) & FORTUNE_FLAG) != 0;
+    }
+
+    private static boolean computeBenefitsFromFortune(Material blockMaterial) {
         // Ores (excluding ancient debris and some special blocks)
         if (blockMaterial.name().contains("_ORE") &&
                 blockMaterial != Material.ANCIENT_DEBRIS) {
@@ -0,0 +1,97 @@
+package org.nguyendevs.simpleautotools.utils;
+
+import org.bukkit.Material;
+import org.bukkit.entity.EntityType;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Vanilla melee stats per weapon Material and damage category per EntityType
+ *
+ * Everything is kept in integer units so weapon scoring stays primitive:
+ * damage in half points (1 = half a heart), attack speed in tenths of an
+ * attack per second. Values are the Java Edition 1.19 attribute values.
+ */
+public final class WeaponStats {
+
+    // Entity categories that change the enchantment damage bonus
+    public static final int CATEGORY_NONE = 0;
+    public static final int CATEGORY_UNDEAD = 1;
+    public static final int CATEGORY_ARTHROPOD = 2;
+
+    // Packed per Material.ordinal(): bits 0-7 attack speed (tenths), bits 8-15 damage (half points)
+    private static final int SPEED_MASK = 0xFF;
+    private static final int DAMAGE_SHIFT = 8;
+
+    private static final int[] MATERIAL_TABLE = new int[Material.values().length];
+    private static final byte[] CATEGORY_TABLE = new byte[EntityType.values().length];
+
+    static {
+        // Swords: 1.6 attacks per second
+        weapon("WOODEN_SWORD", 8, 16);
+        weapon("GOLDEN_SWORD", 8, 16);
+        weapon("STONE_SWORD", 10, 16);
+        weapon("IRON_SWORD", 12, 16);
+        weapon("DIAMOND_SWORD", 14, 16);
+        weapon("NETHERITE_SWORD", 16, 16);
+
+        // Axes hit harder but slower
+        weapon("WOODEN_AXE", 14, 8);
+        weapon("GOLDEN_AXE", 14, 10);
+        weapon("STONE_AXE", 18, 8);
+        weapon("IRON_AXE", 18, 9);
+        weapon("DIAMOND_AXE", 18, 10);
+        weapon("NETHERITE_AXE", 20, 10);
+
+        // Smite applies to these
+        Set<String> undead = new HashSet<>(Arrays.asList(
+                "ZOMBIE", "ZOMBIE_VILLAGER", "HUSK", "DROWNED", "ZOMBIE_HORSE", "ZOMBIFIED_PIGLIN", "ZOGLIN",
+                "SKELETON", "STRAY", "WITHER_SKELETON", "SKELETON_HORSE", "WITHER", "PHANTOM"));
+        // Bane of Arthropods applies to these
+        Set<String> arthropods = new HashSet<>(Arrays.asList(
+                "SPIDER", "CAVE_SPIDER", "SILVERFISH", "ENDERMITE", "BEE"));
+
+        // Matched by name so entity types missing on older servers are simply skipped
+        for (EntityType type : EntityType.values()) {
+            String name = type.name();
+            if (undead.contains(name)) {
+                CATEGORY_TABLE[type.ordinal()] = CATEGORY_UNDEAD;
+            } else if (arthropods.contains(name)) {
+                CATEGORY_TABLE[type.ordinal()] = CATEGORY_ARTHROPOD;
+            }
+        }
+    }
+
+    private WeaponStats() {
+    }
+
+    private static void weapon(String name, int damageHalfPoints, int speedTenths) {
+        Material material = Material.getMaterial(name);
+        if (material != null) {
+            MATERIAL_TABLE[material.ordinal()] = (damageHalfPoints << DAMAGE_SHIFT) | speedTenths;
+        }
+    }
+
+    /**
+     * Base attack damage in half points, 0 for anything that is not a sword or axe
+     */
+    public static int getDamageHalfPoints(Material material) {
+        return MATERIAL_TABLE[material.ordinal()] >>> DAMAGE_SHIFT;
+    }
+
+    /**
+     * Attacks per second in tenths (1.6 -> 16), 0 for anything that is not a sword or axe
+     */
+    public static int getSpeedTenths(Material material) {
+        return MATERIAL_TABLE[material.ordinal()] & SPEED_MASK;
+    }
+
+    /**
+     * CATEGORY_UNDEAD, CATEGORY_ARTHROPOD or CATEGORY_NONE
+     */
+    public static int getCategory(EntityType type) {
+        return type == null ? CATEGORY_NONE : CATEGORY_TABLE[type.ordinal()];
+    }
+}
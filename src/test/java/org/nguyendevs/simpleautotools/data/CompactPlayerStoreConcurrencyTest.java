@@ -0,0 +1,116 @@
+package org.nguyendevs.simpleautotools.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Login, main and storage threads all write the store; none of their entries may be lost or duplicated
+ */
+class CompactPlayerStoreConcurrencyTest {
+
+    private static final int DEFAULT = 0;
+    private static final int WRITERS = 6;
+    private static final int PLAYERS_PER_WRITER = 4000;
+    private static final int SHARED_PLAYERS = 200;
+
+    @Test
+    void concurrentWritersKeepEveryEntry() throws Exception {
+        CompactPlayerStore store = new CompactPlayerStore(DEFAULT);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService threads = Executors.newFixedThreadPool(WRITERS + 1);
+
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int w = 0; w < WRITERS; w++) {
+                int writer = w;
+                writers.add(threads.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < PLAYERS_PER_WRITER; i++) {
+                        UUID uuid = own(writer, i);
+                        store.put(uuid, expected(writer, i) == DEFAULT ? 1 : 2);
+                        store.put(uuid, expected(writer, i));
+                        // Every writer also fights over the same few players
+                        store.put(shared(i % SHARED_PLAYERS), writer + 1);
+                    }
+                    return null;
+                }));
+            }
+
+            // The storage thread snapshots while the others write
+            Future<Integer> reader = threads.submit(() -> {
+                start.await();
+                int snapshots = 0;
+                while (writing.get()) {
+                    assertConsistent(store.snapshot());
+                    snapshots++;
+                }
+                return snapshots;
+            });
+
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get(60, TimeUnit.SECONDS);
+            }
+            writing.set(false);
+            assertTrue(reader.get(60, TimeUnit.SECONDS) > 0);
+        } finally {
+            threads.shutdownNow();
+        }
+
+        int stored = SHARED_PLAYERS;
+        for (int w = 0; w < WRITERS; w++) {
+            for (int i = 0; i < PLAYERS_PER_WRITER; i++) {
+                assertEquals(expected(w, i), store.get(own(w, i)), "writer " + w + " player " + i);
+                if (expected(w, i) != DEFAULT) {
+                    stored++;
+                }
+            }
+        }
+        for (int i = 0; i < SHARED_PLAYERS; i++) {
+            int value = store.get(shared(i));
+            assertTrue(value >= 1 && value <= WRITERS, "shared player " + i + " holds " + value);
+        }
+
+        assertEquals(stored, store.size());
+        CompactPlayerStore.Entries entries = store.snapshot();
+        assertConsistent(entries);
+        assertEquals(stored, entries.size());
+    }
+
+    private static void assertConsistent(CompactPlayerStore.Entries entries) {
+        assertEquals(entries.values.length * 2, entries.uuids.length);
+        Set<UUID> seen = new HashSet<>();
+        for (int i = 0; i < entries.size(); i++) {
+            assertTrue(seen.add(entries.uuid(i)), "duplicated " + entries.uuid(i));
+            assertTrue(entries.values[i] != DEFAULT, "default flags stored for " + entries.uuid(i));
+        }
+    }
+
+    // Every third player goes back to the defaults, which removes them
+    private static int expected(int writer, int index) {
+        return index % 3 == 0 ? DEFAULT : (writer * PLAYERS_PER_WRITER + index) & 0xFFFF | 0x10000;
+    }
+
+    private static UUID own(int writer, int index) {
+        return new UUID(writer + 1, index * 0x9E3779B97F4A7C15L);
+    }
+
+    private static UUID shared(int index) {
+        return new UUID(0, index);
+    }
+}
@@ -0,0 +1,119 @@
+package org.nguyendevs.simpleautotools.data;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Writes through one connection and reads back through a fresh one, like a restart
+ */
+class SqlitePlayerStorageTest {
+
+    private static final UUID DISABLED = UUID.fromString("00000000-0000-0001-0000-000000000001");
+    private static final UUID SWAP_BACK = UUID.fromString("8f14e45f-ceea-467f-a0e6-9f1c6b2a7e3d");
+    // Both halves negative, to catch sign problems in the INTEGER columns
+    private static final UUID NEGATIVE = new UUID(Long.MIN_VALUE, -1L);
+
+    @TempDir
+    File directory;
+
+    @Test
+    void savedFlagsSurviveAReopen() throws Exception {
+        File file = new File(directory, "playerdata.db");
+        int swapBack = PlayerData.FLAG_ENABLED | PlayerData.FLAG_SWAP_BACK | 7 << 8;
+
+        SqlitePlayerStorage storage = storage(file);
+        storage.save(null, entries(new UUID[]{DISABLED, SWAP_BACK, NEGATIVE}, new int[]{0, swapBack, 0x7FFFFFFF}));
+        storage.close();
+
+        CompactPlayerStore loaded = load(file);
+        assertEquals(3, loaded.size());
+        assertEquals(0, loaded.get(DISABLED));
+        assertEquals(swapBack, loaded.get(SWAP_BACK));
+        assertEquals(0x7FFFFFFF, loaded.get(NEGATIVE));
+    }
+
+    @Test
+    void changesUpdateAndDefaultsDelete() throws Exception {
+        File file = new File(directory, "playerdata.db");
+
+        SqlitePlayerStorage storage = storage(file);
+        storage.save(null, entries(new UUID[]{DISABLED, SWAP_BACK}, new int[]{0, PlayerData.FLAG_SWAP_BACK}));
+        storage.close();
+
+        // A reopened storage picks up where the last one left off
+        storage = storage(file);
+        storage.save(null, entries(new UUID[]{DISABLED, SWAP_BACK, NEGATIVE},
+                new int[]{PlayerData.DEFAULT_FLAGS, PlayerData.FLAG_ENABLED | PlayerData.FLAG_SWAP_BACK, 0}));
+        storage.save(null, entries(new UUID[0], new int[0]));
+        storage.close();
+
+        CompactPlayerStore loaded = load(file);
+        assertEquals(2, loaded.size());
+        assertEquals(PlayerData.DEFAULT_FLAGS, loaded.get(DISABLED));
+        assertEquals(PlayerData.FLAG_ENABLED | PlayerData.FLAG_SWAP_BACK, loaded.get(SWAP_BACK));
+        assertEquals(0, loaded.get(NEGATIVE));
+    }
+
+    @Test
+    void migrationKeepsPlayersAlreadyInTheDatabase() throws Exception {
+        File file = new File(directory, "playerdata.db");
+        UUID pending = UUID.fromString("3c59dc04-8b4a-4c1e-9c8f-2f0d5b6a1e77");
+
+        SqlitePlayerStorage storage = storage(file);
+        storage.save(null, entries(new UUID[]{SWAP_BACK}, new int[]{PlayerData.FLAG_ENABLED | PlayerData.FLAG_SWAP_BACK}));
+        storage.close();
+
+        // playerdata.yml still has everyone's older settings
+        CompactPlayerStore.Entries imported = entries(new UUID[]{SWAP_BACK, DISABLED, pending}, new int[]{0, 0, 0});
+
+        CompactPlayerStore store = load(file);
+        // Reset to the defaults and not flushed yet, so it has no row
+        Set<UUID> changed = new HashSet<>(Collections.singleton(pending));
+
+        assertEquals(1, DataManager.importAbsent(store, imported, changed, Collections.emptySet()));
+        assertTrue(changed.contains(DISABLED));
+
+        storage = storage(file);
+        storage.save(store, store.snapshot());
+        storage.close();
+
+        CompactPlayerStore loaded = load(file);
+        assertEquals(PlayerData.FLAG_ENABLED | PlayerData.FLAG_SWAP_BACK, loaded.get(SWAP_BACK));
+        assertEquals(0, loaded.get(DISABLED));
+        assertEquals(PlayerData.DEFAULT_FLAGS, loaded.get(pending));
+    }
+
+    private static SqlitePlayerStorage storage(File file) {
+        return new SqlitePlayerStorage(file, Logger.getLogger(SqlitePlayerStorageTest.class.getName()));
+    }
+
+    private static CompactPlayerStore load(File file) throws Exception {
+        SqlitePlayerStorage storage = storage(file);
+        try {
+            CompactPlayerStore store = new CompactPlayerStore(PlayerData.DEFAULT_FLAGS);
+            storage.load(store);
+            return store;
+        } finally {
+            storage.close();
+        }
+    }
+
+    private static CompactPlayerStore.Entries entries(UUID[] players, int[] flags) {
+        long[] uuids = new long[players.length * 2];
+        for (int i = 0; i < players.length; i++) {
+            uuids[i * 2] = players[i].getMostSignificantBits();
+            uuids[i * 2 + 1] = players[i].getLeastSignificantBits();
+        }
+        return new CompactPlayerStore.Entries(uuids, flags);
+    }
+}
@@ -0,0 +1,41 @@
+package org.nguyendevs.simpleautotools.managers;
+
+import org.junit.jupiter.api.Test;
+import org.nguyendevs.simpleautotools.testing.Fixtures;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class PendingSelectionTest {
+
+    private final PriorityProfile profile = new PriorityProfile(Fixtures.ORDER, new int[0][], Collections.emptyMap());
+    private final ToolSelection selection = new ToolSelection(3, null, 0, 1);
+
+    @Test
+    void unfinishedScoringIsAMiss() {
+        PendingSelection pending = new PendingSelection(1, 2, profile, 7);
+        assertSame(SelectionCache.MISS, pending.resultFor(1, 2, profile, 7));
+        pending.complete(selection);
+        assertSame(selection, pending.resultFor(1, 2, profile, 7));
+    }
+
+    @Test
+    void resultIsOnlyUsedForWhatItWasScoredFrom() {
+        PendingSelection pending = new PendingSelection(1, 2, profile, 7);
+        pending.complete(selection);
+
+        PriorityProfile other = new PriorityProfile(Fixtures.ORDER, new int[0][], Collections.emptyMap());
+        assertSame(SelectionCache.MISS, pending.resultFor(2, 2, profile, 7));
+        assertSame(SelectionCache.MISS, pending.resultFor(1, 3, profile, 7));
+        assertSame(SelectionCache.MISS, pending.resultFor(1, 2, other, 7));
+        assertSame(SelectionCache.MISS, pending.resultFor(1, 2, profile, 8));
+    }
+
+    @Test
+    void noToolIsAValidResult() {
+        PendingSelection pending = new PendingSelection(1, 2, profile, 7);
+        pending.complete(null);
+        assertSame(null, pending.resultFor(1, 2, profile, 7));
+    }
+}
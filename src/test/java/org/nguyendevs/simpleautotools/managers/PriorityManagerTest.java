@@ -0,0 +1,97 @@
+package org.nguyendevs.simpleautotools.managers;
+
+import org.bukkit.enchantments.Enchantment;
+import org.junit.jupiter.api.Test;
+import org.nguyendevs.simpleautotools.data.PlayerData;
+import org.nguyendevs.simpleautotools.testing.StandInServer;
+import org.nguyendevs.simpleautotools.utils.EnchantmentIds;
+import org.nguyendevs.simpleautotools.utils.PriorityType;
+import org.nguyendevs.simpleautotools.utils.ToolType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PriorityManagerTest {
+
+    @Test
+    void profileIdsOnlyDependOnTheName() {
+        assertEquals(0, PriorityManager.idOf(PriorityManager.DEFAULT_PROFILE));
+        // Stored in player data: changing these values moves every player back to the default
+        assertEquals(10649750, PriorityManager.idOf("fortune"));
+        assertEquals(3530325, PriorityManager.idOf("silk"));
+        assertEquals(8978497, PriorityManager.idOf("speed"));
+    }
+
+    @Test
+    void profileIdsSurviveTheFlags() {
+        UUID uuid = new UUID(1, 2);
+        for (String name : new String[]{"fortune", "silk", "speed", "a", "a-very-long-profile-name"}) {
+            int id = PriorityManager.idOf(name);
+            assertTrue(id > 0 && id <= PlayerData.MAX_PROFILE_ID, name + " -> " + id);
+
+            int flags = PlayerData.withProfile(PlayerData.FLAG_ENABLED | PlayerData.FLAG_SWAP_BACK, id);
+            PlayerData data = PlayerData.fromFlags(uuid, flags);
+            assertEquals(id, data.getProfileId());
+            assertTrue(data.isEnabled() && data.isSwapBack());
+        }
+    }
+
+    @Test
+    void identicalSettingsShareOneProfile() {
+        StandInServer.install();
+        Logger logger = Logger.getLogger(PriorityManagerTest.class.getName());
+        Map<PriorityProfile, PriorityProfile> interned = new HashMap<>();
+        List<PriorityType> order = Arrays.asList(PriorityType.ENCHANTMENT, PriorityType.MATERIAL, PriorityType.DURABILITY);
+
+        PriorityProfile fortune = PriorityManager.intern(interned, PriorityManager.compile(order,
+                pickaxe(Enchantment.LOOT_BONUS_BLOCKS, Enchantment.DIG_SPEED), "fortune", logger));
+        // Same settings under another name, read into separate lists
+        PriorityProfile copy = PriorityManager.intern(interned, PriorityManager.compile(new ArrayList<>(order),
+                pickaxe(Enchantment.LOOT_BONUS_BLOCKS, Enchantment.DIG_SPEED), "mining", logger));
+        assertSame(fortune, copy);
+
+        PriorityProfile speed = PriorityManager.intern(interned, PriorityManager.compile(order,
+                pickaxe(Enchantment.DIG_SPEED, Enchantment.LOOT_BONUS_BLOCKS), "speed", logger));
+        PriorityProfile material = PriorityManager.intern(interned, PriorityManager.compile(
+                Arrays.asList(PriorityType.MATERIAL, PriorityType.ENCHANTMENT, PriorityType.DURABILITY),
+                pickaxe(Enchantment.LOOT_BONUS_BLOCKS, Enchantment.DIG_SPEED), "material", logger));
+        assertNotEquals(fortune, speed);
+        assertNotEquals(fortune, material);
+        assertEquals(3, interned.size());
+    }
+
+    @Test
+    void profilesCompareTheirEnchantmentLists() {
+        StandInServer.install();
+        List<PriorityType> order = Arrays.asList(PriorityType.ENCHANTMENT, PriorityType.MATERIAL);
+        // Identical ranks, the lists (read by the reference comparator) differ
+        int[][] ranks = new int[ToolType.values().length][];
+        ranks[ToolType.PICKAXE.ordinal()] = new int[]{EnchantmentIds.of(Enchantment.DIG_SPEED)};
+
+        PriorityProfile fortune = new PriorityProfile(order, ranks, pickaxe(Enchantment.LOOT_BONUS_BLOCKS));
+        PriorityProfile same = new PriorityProfile(order, ranks, pickaxe(Enchantment.LOOT_BONUS_BLOCKS));
+        PriorityProfile silk = new PriorityProfile(order, ranks, pickaxe(Enchantment.SILK_TOUCH));
+
+        assertEquals(fortune, same);
+        assertEquals(fortune.hashCode(), same.hashCode());
+        assertNotEquals(fortune, silk);
+    }
+
+    private static Map<ToolType, List<Enchantment>> pickaxe(Enchantment... enchantments) {
+        Map<ToolType, List<Enchantment>> lists = new EnumMap<>(ToolType.class);
+        lists.put(ToolType.PICKAXE, new ArrayList<>(Arrays.asList(enchantments)));
+        lists.put(ToolType.SWORD, new ArrayList<>(Arrays.asList(Enchantment.DAMAGE_ALL, Enchantment.MENDING)));
+        return lists;
+    }
+}
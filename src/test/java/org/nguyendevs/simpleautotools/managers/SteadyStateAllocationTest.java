@@ -0,0 +1,221 @@
+package org.nguyendevs.simpleautotools.managers;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.potion.PotionEffectType;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.nguyendevs.simpleautotools.config.ConfigSnapshot;
+import org.nguyendevs.simpleautotools.testing.Fixtures;
+import org.nguyendevs.simpleautotools.testing.StandInServer;
+import org.nguyendevs.simpleautotools.testing.StandIns;
+import org.nguyendevs.simpleautotools.utils.DigSpeedCalculator;
+import org.nguyendevs.simpleautotools.utils.DurabilityPriority;
+import org.nguyendevs.simpleautotools.utils.PriorityType;
+import org.nguyendevs.simpleautotools.utils.TagBasedToolUtils;
+import org.nguyendevs.simpleautotools.utils.ToolType;
+import org.nguyendevs.simpleautotools.utils.WeaponStats;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.function.Function;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Bytes allocated by the selection paths after warm-up, read from the
+ * per-thread counter (ThreadMXBean#getThreadAllocatedBytes)
+ *
+ * Hits and clean scans must not allocate at all, a miss only its result.
+ * A rescan may allocate no more than the Bukkit calls it makes (getEnchantments
+ * hands out a fresh map on a real server), and so may reading the player's
+ * dig conditions, which happens before every cache lookup.
+ */
+class SteadyStateAllocationTest {
+
+    private static final int WARMUP = 50_000;
+    private static final int OPERATIONS = 100_000;
+    // The JIT may still be compiling during the first measurement
+    private static final int ATTEMPTS = 5;
+
+    private static com.sun.management.ThreadMXBean threads;
+
+    private final PlayerInventory inventory = StandIns.inventory(mixedInventory());
+    private final ToolInventoryIndex index = new ToolInventoryIndex();
+    private final ConfigSnapshot config = Fixtures.config(true);
+    private final PriorityProfile profile = Fixtures.profile();
+    private final int blockKey = TagBasedToolUtils.getBlockClassification(Material.DIAMOND_ORE);
+    private final int weaponCategory = WeaponStats.getCategory(EntityType.ZOMBIE);
+
+    // Keeps results reachable so the JIT cannot drop the work
+    private static long sink;
+    private static ToolSelection escaped;
+
+    @BeforeAll
+    static void setUp() {
+        StandInServer.install();
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+                "no per-thread allocation counter on this JVM");
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "per-thread allocation counter unsupported");
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    void cleanScanDoesNotAllocate() {
+        index.refresh(inventory);
+        assertEquals(0, bytesPerOperation(() -> index.refresh(inventory)), 0.01);
+    }
+
+    @Test
+    void cacheHitDoesNotAllocate() {
+        index.refresh(inventory);
+        SelectionCache cache = index.getSelectionCache();
+        cache.get(index.getSelectionVersion(), 0, profile, blockKey);
+        cache.put(blockKey, ToolSelector.selectTool(index, config, profile, ToolType.PICKAXE, Material.DIAMOND_ORE, 0));
+        cache.get(index.getSelectionVersion(), 0, profile, ~weaponCategory);
+        cache.put(~weaponCategory, ToolSelector.selectWeapon(index, config, profile, weaponCategory));
+
+        assertEquals(0, bytesPerOperation(() -> {
+            index.refresh(inventory);
+            long version = index.getSelectionVersion();
+            sink += cache.get(version, 0, profile, blockKey).getSlot();
+            sink += cache.get(version, 0, profile, ~weaponCategory).getSlot();
+        }), 0.01);
+    }
+
+    @Test
+    void cacheMissOnlyAllocatesItsResult() {
+        index.refresh(inventory);
+        double result = bytesPerOperation(() -> escaped = new ToolSelection((int) sink & 7, Material.STONE, 0, sink));
+
+        assertTrue(bytesPerOperation(() -> escaped = ToolSelector.selectTool(index, config, profile,
+                ToolType.PICKAXE, Material.DIAMOND_ORE, 0)) <= result, "tool selection allocates");
+        assertTrue(bytesPerOperation(() -> escaped = ToolSelector.selectWeapon(index, config, profile,
+                weaponCategory)) <= result, "weapon selection allocates");
+
+        // Break-time scoring for every candidate
+        List<PriorityType> order = Arrays.asList(PriorityType.DIG_SPEED, PriorityType.ENCHANTMENT, PriorityType.MATERIAL);
+        ConfigSnapshot digSpeedConfig = Fixtures.config(order, DurabilityPriority.HIGH, true, true);
+        PriorityProfile digSpeedProfile = Fixtures.profile(order);
+        int conditions = DigSpeedCalculator.conditions(2, 0, false, true);
+        assertTrue(bytesPerOperation(() -> escaped = ToolSelector.selectTool(index, digSpeedConfig, digSpeedProfile,
+                ToolType.PICKAXE, Material.DIAMOND_ORE, conditions)) <= result, "dig speed selection allocates");
+    }
+
+    @Test
+    void rescanOnlyAllocatesWhatBukkitHandsOut() {
+        double bukkit = bytesPerOperation(() -> {
+            for (int slot = 0; slot < ToolInventoryIndex.SLOT_COUNT; slot++) {
+                ItemStack item = inventory.getItem(slot);
+                sink += TagBasedToolUtils.getRemainingDurability(item);
+                for (Map.Entry<Enchantment, Integer> entry : item.getEnchantments().entrySet()) {
+                    sink += entry.getValue();
+                }
+            }
+        });
+
+        double rescan = bytesPerOperation(() -> {
+            index.markAllDirty();
+            index.refresh(inventory);
+        });
+        assertTrue(rescan <= bukkit + 1, rescan + " bytes per rescan, " + bukkit + " from Bukkit");
+    }
+
+    @Test
+    void digConditionsOnlyAllocateWhatBukkitHandsOut() {
+        Map<String, Function<Object[], Object>> worldAnswers = new HashMap<>();
+        worldAnswers.put("getType", args -> Material.AIR);
+        World world = StandIns.proxy(World.class, worldAnswers);
+
+        Map<String, Function<Object[], Object>> answers = new HashMap<>();
+        answers.put("getLocation", args -> {
+            Location location = (Location) args[0];
+            location.setWorld(world);
+            location.setX(10.5);
+            location.setY(64.0);
+            location.setZ(-3.2);
+            return location;
+        });
+        answers.put("getEyeHeight", args -> 1.62);
+        answers.put("isOnGround", args -> true);
+        answers.put("getInventory", args -> inventory);
+        Player player = StandIns.proxy(Player.class, answers);
+        Location scratch = index.getScratchLocation();
+
+        // The calls digConditions makes without effects and out of water
+        double bukkit = bytesPerOperation(() -> {
+            Location location = player.getLocation(scratch);
+            int eyeY = Location.locToBlock(location.getY() + player.getEyeHeight());
+            sink += location.getWorld().getType(location.getBlockX(), eyeY, location.getBlockZ()).ordinal();
+            sink += player.hasPotionEffect(PotionEffectType.FAST_DIGGING) ? 1 : 0;
+            sink += player.hasPotionEffect(PotionEffectType.CONDUIT_POWER) ? 1 : 0;
+            sink += player.hasPotionEffect(PotionEffectType.SLOW_DIGGING) ? 1 : 0;
+            sink += player.isOnGround() ? 1 : 0;
+        });
+
+        double conditions = bytesPerOperation(() -> sink += RefactoredToolSwitchManager.digConditions(player, scratch));
+        assertTrue(conditions <= bukkit + 1, conditions + " bytes per read, " + bukkit + " from Bukkit");
+    }
+
+    private static double bytesPerOperation(Runnable operation) {
+        long thread = Thread.currentThread().getId();
+        double best = Double.MAX_VALUE;
+
+        for (int attempt = 0; attempt < ATTEMPTS; attempt++) {
+            for (int i = 0; i < WARMUP; i++) {
+                operation.run();
+            }
+
+            long before = threads.getThreadAllocatedBytes(thread);
+            for (int i = 0; i < OPERATIONS; i++) {
+                operation.run();
+            }
+            long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+            best = Math.min(best, allocated / (double) OPERATIONS);
+            if (best == 0) {
+                break;
+            }
+        }
+        return best;
+    }
+
+    // Every kind and tier of tool in all 36 slots, with random enchantments and wear
+    private static ItemStack[] mixedInventory() {
+        StandInServer.install();
+        String[] tiers = {"WOODEN", "STONE", "IRON", "GOLDEN", "DIAMOND", "NETHERITE"};
+        String[] kinds = {"PICKAXE", "AXE", "SHOVEL", "HOE", "SWORD"};
+        Enchantment[] enchantments = {
+                Enchantment.DIG_SPEED, Enchantment.LOOT_BONUS_BLOCKS, Enchantment.SILK_TOUCH,
+                Enchantment.DURABILITY, Enchantment.MENDING, Enchantment.DAMAGE_ALL
+        };
+
+        Random random = new Random(42);
+        ItemStack[] items = new ItemStack[ToolInventoryIndex.SLOT_COUNT];
+        for (int slot = 0; slot < items.length; slot++) {
+            Material type = Material.valueOf(tiers[(slot / kinds.length) % tiers.length] + "_" + kinds[slot % kinds.length]);
+
+            Map<Enchantment, Integer> levels = new HashMap<>();
+            for (Enchantment enchantment : enchantments) {
+                if (random.nextInt(3) == 0) {
+                    levels.put(enchantment, 1 + random.nextInt(5));
+                }
+            }
+            items[slot] = StandIns.item(type, random.nextInt(type.getMaxDurability()), levels);
+        }
+        return items;
+    }
+}
@@ -0,0 +1,236 @@
+package org.nguyendevs.simpleautotools.managers;
+
+import org.bukkit.block.Block;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.Test;
+import org.nguyendevs.simpleautotools.scheduler.TaskScheduler;
+import org.nguyendevs.simpleautotools.testing.Fixtures;
+import org.nguyendevs.simpleautotools.testing.StandIns;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hammers SwitchRequestQueue and the per-player SelectionCache the way a region-threaded server does
+ *
+ * Several region threads tick in lock step. Each owns a set of players, fires
+ * a burst of requests for them and then runs its scheduled tasks. Between ticks
+ * players move to other regions, so every request, task and cache is handed
+ * across threads the same way Folia hands them over.
+ */
+class SwitchRequestQueueConcurrencyTest {
+
+    private static final int REGIONS = 4;
+    private static final int PLAYERS = 64;
+    private static final int TICKS = 300;
+    private static final int REQUESTS_PER_TICK = 5;
+
+    private final Player[] players = new Player[PLAYERS];
+    private final Map<UUID, Integer> playerIndex = new HashMap<>();
+    private final int[] owners = new int[PLAYERS];
+
+    // What the last request of the current tick asked for, and what actually ran
+    private final AtomicReferenceArray<Block> expected = new AtomicReferenceArray<>(PLAYERS);
+    private final AtomicReferenceArray<Block> switched = new AtomicReferenceArray<>(PLAYERS);
+    private final AtomicIntegerArray switches = new AtomicIntegerArray(PLAYERS);
+
+    private final SelectionCache[] caches = new SelectionCache[PLAYERS];
+    private final PriorityProfile profile = new PriorityProfile(Fixtures.ORDER, new int[0][], Collections.emptyMap());
+    private final Queue<String> failures = new ConcurrentLinkedQueue<>();
+    private volatile int tick;
+
+    @Test
+    void oneSwitchPerPlayerPerTick() throws Exception {
+        for (int i = 0; i < PLAYERS; i++) {
+            UUID uuid = new UUID(0, i);
+            Map<String, Function<Object[], Object>> answers = new HashMap<>();
+            answers.put("getUniqueId", args -> uuid);
+            answers.put("isOnline", args -> true);
+            answers.put("getName", args -> "player" + uuid.getLeastSignificantBits());
+            players[i] = StandIns.proxy(Player.class, answers);
+            playerIndex.put(uuid, i);
+            owners[i] = i % REGIONS;
+            caches[i] = new SelectionCache();
+        }
+
+        RegionScheduler scheduler = new RegionScheduler();
+        SwitchRequestQueue queue = new SwitchRequestQueue(scheduler, new RecordingSwitcher());
+        Random random = new Random(42);
+        CyclicBarrier endOfTick = new CyclicBarrier(REGIONS, () -> {
+            checkTick();
+            // Move a third of the players to another region before the next tick
+            for (int i = 0; i < PLAYERS; i++) {
+                if (random.nextInt(3) == 0) {
+                    owners[i] = (owners[i] + 1 + random.nextInt(REGIONS - 1)) % REGIONS;
+                }
+            }
+            tick++;
+        });
+
+        ExecutorService regions = Executors.newFixedThreadPool(REGIONS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int region = 0; region < REGIONS; region++) {
+                int self = region;
+                futures.add(regions.submit(() -> {
+                    for (int t = 0; t < TICKS; t++) {
+                        for (int i = 0; i < PLAYERS; i++) {
+                            if (owners[i] == self) {
+                                burst(queue, i);
+                            }
+                        }
+                        scheduler.runTick(self);
+                        endOfTick.await(10, TimeUnit.SECONDS);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            regions.shutdownNow();
+        }
+
+        assertTrue(failures.isEmpty(), () -> failures.size() + " failures, first: " + failures.peek());
+        assertEquals(TICKS, tick);
+        assertEquals((long) PLAYERS * TICKS * REQUESTS_PER_TICK, queue.getRequested());
+        assertEquals((long) PLAYERS * TICKS * (REQUESTS_PER_TICK - 1), queue.getCoalesced());
+    }
+
+    // Mixed block and weapon requests; the last one of the tick is always a new block
+    private void burst(SwitchRequestQueue queue, int player) {
+        for (int r = 0; r < REQUESTS_PER_TICK - 1; r++) {
+            if (r % 2 == 0) {
+                queue.requestWeaponSwitch(players[player], EntityType.ZOMBIE);
+            } else {
+                queue.requestBlockSwitch(players[player], block());
+            }
+        }
+
+        Block last = block();
+        expected.set(player, last);
+        queue.requestBlockSwitch(players[player], last);
+    }
+
+    private static Block block() {
+        return StandIns.proxy(Block.class, Collections.emptyMap());
+    }
+
+    // Barrier action: runs alone, after every region finished the tick
+    private void checkTick() {
+        for (int i = 0; i < PLAYERS; i++) {
+            int count = switches.getAndSet(i, 0);
+            if (count != 1) {
+                failures.add("tick " + tick + ": player " + i + " switched " + count + " times");
+            }
+            if (switched.getAndSet(i, null) != expected.get(i)) {
+                failures.add("tick " + tick + ": player " + i + " did not switch for its latest request");
+            }
+        }
+    }
+
+    /**
+     * Stands in for the selection: records the switch and exercises the player's cache,
+     * which only the thread owning the player may touch
+     */
+    private final class RecordingSwitcher extends RefactoredToolSwitchManager {
+
+        RecordingSwitcher() {
+            super(null);
+        }
+
+        @Override
+        PendingSelection prescore(Player player, Block block) {
+            return null;
+        }
+
+        @Override
+        void switchToolForBlock(Player player, Block block, PendingSelection pending) {
+            int i = playerIndex.get(player.getUniqueId());
+            switches.incrementAndGet(i);
+            switched.set(i, block);
+
+            // The previous tick's entry was written on whichever region owned the player then
+            SelectionCache cache = caches[i];
+            int current = tick;
+            if (current > 0) {
+                ToolSelection previous = cache.get(0, 0, profile, current - 1);
+                if (previous == SelectionCache.MISS || previous.getScore() != current - 1) {
+                    failures.add("tick " + current + ": player " + i + " lost the previous cache entry");
+                }
+            }
+            assertSame(SelectionCache.MISS, cache.get(0, 0, profile, current));
+            ToolSelection selection = new ToolSelection(i % 9, null, 0, current);
+            cache.put(current, selection);
+            assertSame(selection, cache.get(0, 0, profile, current));
+        }
+
+        @Override
+        public void switchWeaponForEntity(Player player, EntityType target) {
+            int i = playerIndex.get(player.getUniqueId());
+            failures.add("tick " + tick + ": player " + i + " ran a weapon switch that was replaced");
+        }
+    }
+
+    /**
+     * One task queue per region; tasks run on the region that owns the player when they are scheduled
+     */
+    private final class RegionScheduler implements TaskScheduler {
+
+        private final List<Queue<Runnable>> queues = new ArrayList<>();
+
+        RegionScheduler() {
+            for (int i = 0; i < REGIONS; i++) {
+                queues.add(new ConcurrentLinkedQueue<>());
+            }
+        }
+
+        @Override
+        public boolean runForPlayer(Player player, Runnable task) {
+            queues.get(owners[playerIndex.get(player.getUniqueId())]).add(task);
+            return true;
+        }
+
+        void runTick(int region) {
+            Runnable task;
+            while ((task = queues.get(region).poll()) != null) {
+                task.run();
+            }
+        }
+
+        @Override
+        public void runGlobal(Runnable task) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public TaskHandle runAsyncRepeating(Runnable task, long period, TimeUnit unit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void cancelTasks() {
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.nguyendevs.simpleautotools.managers;
+
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.nguyendevs.simpleautotools.testing.StandInServer;
+import org.nguyendevs.simpleautotools.testing.StandIns;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class ToolInventoryIndexTest {
+
+    @BeforeAll
+    static void setUp() {
+        StandInServer.install();
+    }
+
+    @Test
+    void durabilityTickKeepsSelectionVersion() {
+        ItemStack[] items = new ItemStack[ToolInventoryIndex.SLOT_COUNT];
+        PlayerInventory inventory = StandIns.inventory(items);
+        items[0] = pickaxe(100);
+        ToolInventoryIndex index = new ToolInventoryIndex();
+        index.refresh(inventory);
+        long version = index.getVersion();
+        long selectionVersion = index.getSelectionVersion();
+
+        // 1561 - 101 = 1460 stays in the same 32-point step as 1461
+        items[0] = pickaxe(101);
+        index.markDirty(0);
+        index.refresh(inventory);
+
+        assertNotEquals(version, index.getVersion());
+        assertEquals(selectionVersion, index.getSelectionVersion());
+        assertEquals(1460, index.getDurability(0));
+    }
+
+    @Test
+    void durabilityStepOrToolChangeBumpsSelectionVersion() {
+        ItemStack[] items = new ItemStack[ToolInventoryIndex.SLOT_COUNT];
+        PlayerInventory inventory = StandIns.inventory(items);
+        items[0] = pickaxe(100);
+        ToolInventoryIndex index = new ToolInventoryIndex();
+        index.refresh(inventory);
+        long selectionVersion = index.getSelectionVersion();
+
+        items[0] = pickaxe(200);
+        index.markDirty(0);
+        index.refresh(inventory);
+        assertNotEquals(selectionVersion, index.getSelectionVersion());
+
+        selectionVersion = index.getSelectionVersion();
+        items[0] = StandIns.item(Material.DIAMOND_PICKAXE, 200, Collections.singletonMap(Enchantment.DIG_SPEED, 1));
+        index.markDirty(0);
+        index.refresh(inventory);
+        assertNotEquals(selectionVersion, index.getSelectionVersion());
+    }
+
+    private static ItemStack pickaxe(int damage) {
+        return StandIns.item(Material.DIAMOND_PICKAXE, damage, Collections.emptyMap());
+    }
+}
@@ -0,0 +1,347 @@
+package org.nguyendevs.simpleautotools.managers;
+
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.nguyendevs.simpleautotools.config.ConfigSnapshot;
+import org.nguyendevs.simpleautotools.testing.Fixtures;
+import org.nguyendevs.simpleautotools.testing.StandInServer;
+import org.nguyendevs.simpleautotools.testing.StandIns;
+import org.nguyendevs.simpleautotools.utils.DigSpeedCalculator;
+import org.nguyendevs.simpleautotools.utils.DurabilityPriority;
+import org.nguyendevs.simpleautotools.utils.EnchantmentIds;
+import org.nguyendevs.simpleautotools.utils.PriorityType;
+import org.nguyendevs.simpleautotools.utils.TagBasedToolUtils;
+import org.nguyendevs.simpleautotools.utils.ToolType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Differential tests: ToolSelector (packed ToolScorer keys) against a stable sort with the reference ToolComparator
+ *
+ * Every inventory is random but seeded, so a failure message carries
+ * everything needed to replay it.
+ */
+class ToolSelectorDifferentialTest {
+
+    private static final int INVENTORIES = 300;
+    private static final Enchantment[] ENCHANTMENT_POOL = {
+            Enchantment.SILK_TOUCH, Enchantment.DIG_SPEED, Enchantment.LOOT_BONUS_BLOCKS,
+            Enchantment.DURABILITY, Enchantment.MENDING, Enchantment.DAMAGE_ALL
+    };
+    private static final DurabilityPriority[] DURABILITIES = DurabilityPriority.values();
+
+    private static Map<ToolType, List<Material>> toolsByType;
+    private static Map<Integer, Material> blocksByClassification;
+    private static List<List<PriorityType>> orders;
+
+    @BeforeAll
+    static void setUp() {
+        StandInServer.install();
+
+        toolsByType = new EnumMap<>(ToolType.class);
+        blocksByClassification = new LinkedHashMap<>();
+        for (Material material : Material.values()) {
+            ToolType itemType = TagBasedToolUtils.getItemToolType(material);
+            if (itemType != ToolType.NONE) {
+                toolsByType.computeIfAbsent(itemType, type -> new ArrayList<>()).add(material);
+            } else if (material.isBlock() && TagBasedToolUtils.getRequiredToolType(material) != ToolType.NONE) {
+                blocksByClassification.putIfAbsent(TagBasedToolUtils.getBlockClassification(material), material);
+            }
+        }
+
+        orders = new ArrayList<>();
+        permutations(new ArrayList<>(Arrays.asList(PriorityType.values())), 0, orders);
+        orders.add(Collections.singletonList(PriorityType.DIG_SPEED));
+        orders.add(Arrays.asList(PriorityType.DURABILITY, PriorityType.ENCHANTMENT));
+    }
+
+    @Test
+    void coversEveryToolTypeAndClassification() {
+        for (ToolType toolType : ToolType.values()) {
+            if (toolType == ToolType.NONE || toolType == ToolType.SWORD) continue;
+            assertFalse(blocksByClassification.values().stream()
+                            .noneMatch(block -> TagBasedToolUtils.getRequiredToolType(block) == toolType),
+                    "no block classified for " + toolType);
+        }
+    }
+
+    @Test
+    void randomInventoriesMatchReference() {
+        for (int seed = 0; seed < INVENTORIES; seed++) {
+            Random random = new Random(seed);
+            // Every fourth inventory reuses a tiny item pool so most comparisons are ties
+            ItemStack[] items = randomInventory(random, seed % 4 == 0);
+            PlayerInventory inventory = StandIns.inventory(items);
+            ToolInventoryIndex index = new ToolInventoryIndex();
+            index.markAllDirty();
+            index.refresh(inventory);
+
+            List<PriorityType> order = orders.get(random.nextInt(orders.size()));
+            ConfigSnapshot config = Fixtures.config(order, DURABILITIES[random.nextInt(DURABILITIES.length)],
+                    random.nextBoolean(), random.nextBoolean());
+            PriorityProfile profile = Fixtures.profile(order);
+            int conditions = DigSpeedCalculator.conditions(random.nextInt(3), random.nextInt(2),
+                    random.nextBoolean(), random.nextBoolean());
+
+            for (Material block : blocksByClassification.values()) {
+                ToolType toolType = TagBasedToolUtils.getRequiredToolType(block);
+                String context = "seed=" + seed + " order=" + order + " durability=" + config.getDurabilityPriority()
+                        + " block=" + block + " conditions=" + conditions;
+                assertSameSelection(items, index, config, profile, toolType, block, conditions, context);
+            }
+        }
+    }
+
+    @Test
+    void enchantmentRankBeatsTier() {
+        ItemStack diamond = tool(Material.DIAMOND_PICKAXE, 0, Enchantment.DIG_SPEED, 3);
+        ItemStack iron = tool(Material.IRON_PICKAXE, 0, Enchantment.DIG_SPEED, 4);
+
+        assertSelected(1, Fixtures.config(true), Fixtures.profile(), Material.STONE, diamond, iron);
+    }
+
+    @Test
+    void smartSilkTouchBreaksEnchantmentTie() {
+        // Silk Touch is not ranked here, so only smart selection can tell the two apart
+        PriorityProfile profile = profileRanking(Enchantment.DIG_SPEED);
+        ItemStack plain = tool(Material.DIAMOND_PICKAXE, 0, Enchantment.DIG_SPEED, 2);
+        ItemStack silk = tool(Material.DIAMOND_PICKAXE, 0, Enchantment.DIG_SPEED, 2, Enchantment.SILK_TOUCH, 1);
+
+        assertSelected(1, Fixtures.config(true), profile, Material.ICE, plain, silk);
+        assertSelected(0, Fixtures.config(false), profile, Material.ICE, plain, silk);
+        assertSelected(0, Fixtures.config(true), profile, Material.STONE, plain, silk);
+    }
+
+    @Test
+    void smartFortuneBreaksEnchantmentTie() {
+        PriorityProfile profile = profileRanking(Enchantment.DIG_SPEED);
+        ItemStack fortune1 = tool(Material.DIAMOND_PICKAXE, 0, Enchantment.LOOT_BONUS_BLOCKS, 1);
+        ItemStack fortune3 = tool(Material.DIAMOND_PICKAXE, 0, Enchantment.LOOT_BONUS_BLOCKS, 3);
+
+        assertSelected(1, Fixtures.config(true), profile, Material.DIAMOND_ORE, fortune1, fortune3);
+        assertSelected(0, Fixtures.config(true), profile, Material.STONE, fortune1, fortune3);
+    }
+
+    @Test
+    void tierBreaksEnchantmentTie() {
+        ItemStack iron = tool(Material.IRON_PICKAXE, 0);
+        ItemStack netherite = tool(Material.NETHERITE_PICKAXE, 0);
+
+        assertSelected(1, Fixtures.config(true), Fixtures.profile(), Material.STONE, iron, netherite);
+        ConfigSnapshot noMaterial = Fixtures.config(Fixtures.ORDER, DurabilityPriority.HIGH, true, false);
+        // Without material priority, durability decides, and netherite still has more left
+        assertSelected(1, noMaterial, Fixtures.profile(), Material.STONE, iron, netherite);
+    }
+
+    @Test
+    void durabilityBreaksTierTie() {
+        ItemStack worn = tool(Material.DIAMOND_PICKAXE, 1200);
+        ItemStack fresh = tool(Material.DIAMOND_PICKAXE, 10);
+        PriorityProfile profile = Fixtures.profile();
+
+        assertSelected(1, config(DurabilityPriority.HIGH), profile, Material.STONE, worn, fresh);
+        assertSelected(0, config(DurabilityPriority.LOW), profile, Material.STONE, worn, fresh);
+        assertSelected(0, config(DurabilityPriority.NONE), profile, Material.STONE, worn, fresh);
+    }
+
+    @Test
+    void durabilityWithinAStepKeepsTheSelection() {
+        PriorityProfile profile = Fixtures.profile();
+        ConfigSnapshot config = config(DurabilityPriority.HIGH);
+        ItemStack[] items = new ItemStack[ToolInventoryIndex.SLOT_COUNT];
+        PlayerInventory inventory = StandIns.inventory(items);
+        // 1481 and 1490 left, both in the 1472-1503 step
+        items[0] = tool(Material.DIAMOND_PICKAXE, 80);
+        items[1] = tool(Material.DIAMOND_PICKAXE, 71);
+
+        ToolInventoryIndex index = new ToolInventoryIndex();
+        index.markAllDirty();
+        index.refresh(inventory);
+        long version = index.getSelectionVersion();
+        ToolSelection cached = ToolSelector.selectTool(index, config, profile, ToolType.PICKAXE, Material.STONE, 0);
+
+        // The second one wears down below the first, still within the step
+        items[1] = tool(Material.DIAMOND_PICKAXE, 86);
+        index.markDirty(1);
+        index.refresh(inventory);
+        assertEquals(version, index.getSelectionVersion());
+        assertEquals(cached.getSlot(), ToolSelector.selectTool(index, config, profile, ToolType.PICKAXE,
+                Material.STONE, 0).getSlot());
+        assertSelected(cached.getSlot(), config, profile, Material.STONE, items[0], items[1]);
+
+        // Crossing into the next step changes both
+        items[1] = tool(Material.DIAMOND_PICKAXE, 100);
+        index.markDirty(1);
+        index.refresh(inventory);
+        assertNotEquals(version, index.getSelectionVersion());
+        assertSelected(0, config, profile, Material.STONE, items[0], items[1]);
+    }
+
+    @Test
+    void digSpeedPrefersFewerTicks() {
+        List<PriorityType> order = Arrays.asList(PriorityType.DIG_SPEED, PriorityType.MATERIAL);
+        ConfigSnapshot config = Fixtures.config(order, DurabilityPriority.HIGH, false, true);
+        PriorityProfile profile = Fixtures.profile(order);
+        ItemStack netherite = tool(Material.NETHERITE_PICKAXE, 0);
+        ItemStack fastDiamond = tool(Material.DIAMOND_PICKAXE, 0, Enchantment.DIG_SPEED, 5);
+
+        assertSelected(1, config, profile, Material.OBSIDIAN, netherite, fastDiamond);
+        // Same tick count on an instant block falls through to material
+        assertSelected(0, config, profile, Material.OAK_LEAVES, tool(Material.NETHERITE_HOE, 0),
+                tool(Material.WOODEN_HOE, 0, Enchantment.DIG_SPEED, 5));
+    }
+
+    @Test
+    void harvestLevelFiltersTools() {
+        ItemStack stone = tool(Material.STONE_PICKAXE, 0, Enchantment.DIG_SPEED, 5);
+
+        ToolInventoryIndex index = index(stone);
+        assertNull(ToolSelector.selectTool(index, Fixtures.config(true), Fixtures.profile(),
+                ToolType.PICKAXE, Material.DIAMOND_ORE, 0));
+    }
+
+    private static void assertSelected(int expected, ConfigSnapshot config, PriorityProfile profile,
+                                       Material block, ItemStack... tools) {
+        ItemStack[] items = new ItemStack[ToolInventoryIndex.SLOT_COUNT];
+        System.arraycopy(tools, 0, items, 0, tools.length);
+        ToolInventoryIndex index = index(items);
+        ToolType toolType = TagBasedToolUtils.getRequiredToolType(block);
+
+        ToolSelection selection = ToolSelector.selectTool(index, config, profile, toolType, block, 0);
+        assertNotNull(selection, "no selection on " + block);
+        assertEquals(expected, selection.getSlot(), "selector on " + block);
+        assertSameSelection(items, index, config, profile, toolType, block, 0, "block=" + block);
+    }
+
+    private static void assertSameSelection(ItemStack[] items, ToolInventoryIndex index, ConfigSnapshot config,
+                                            PriorityProfile profile, ToolType toolType, Material block,
+                                            int conditions, String context) {
+        ToolSelection selection = ToolSelector.selectTool(index, config, profile, toolType, block, conditions);
+        int expected = referenceSlot(items, config, profile, toolType, block, conditions);
+
+        assertEquals(expected, selection == null ? -1 : selection.getSlot(), context);
+    }
+
+    /**
+     * The pre-index selection: candidates in slot order, stable-sorted by ToolComparator, first one wins
+     */
+    private static int referenceSlot(ItemStack[] items, ConfigSnapshot config, PriorityProfile profile,
+                                     ToolType toolType, Material block, int conditions) {
+        boolean checkHarvest = config.isEnabled(ConfigSnapshot.Feature.CHECK_HARVEST_LEVEL);
+        List<Integer> candidates = new ArrayList<>();
+        for (int slot = 0; slot < items.length; slot++) {
+            ItemStack item = items[slot];
+            if (item == null || TagBasedToolUtils.getItemToolType(item.getType()) != toolType) continue;
+            if (checkHarvest && !TagBasedToolUtils.canHarvest(item.getType(), block)) continue;
+            candidates.add(slot);
+        }
+        if (candidates.isEmpty()) {
+            return -1;
+        }
+
+        ToolComparator comparator = new ToolComparator(config, profile, toolType, block, conditions);
+        candidates.sort((a, b) -> comparator.compare(items[a], items[b]));
+        return candidates.get(0);
+    }
+
+    private static ItemStack[] randomInventory(Random random, boolean tieHeavy) {
+        List<ItemStack> pool = new ArrayList<>();
+        if (tieHeavy) {
+            for (int i = 0; i < 3; i++) {
+                pool.add(randomTool(random));
+            }
+        }
+
+        ItemStack[] items = new ItemStack[ToolInventoryIndex.SLOT_COUNT];
+        for (int slot = 0; slot < items.length; slot++) {
+            int roll = random.nextInt(10);
+            if (roll < 3) continue;
+            if (roll == 3) {
+                items[slot] = StandIns.item(Material.DIRT, 0, Collections.emptyMap());
+                continue;
+            }
+            items[slot] = tieHeavy ? pool.get(random.nextInt(pool.size())) : randomTool(random);
+        }
+        return items;
+    }
+
+    private static ItemStack randomTool(Random random) {
+        ToolType[] types = toolsByType.keySet().toArray(new ToolType[0]);
+        List<Material> materials = toolsByType.get(types[random.nextInt(types.length)]);
+        Material material = materials.get(random.nextInt(materials.size()));
+
+        int max = TagBasedToolUtils.getMaxDurability(material);
+        int damage = max > 0 && random.nextBoolean() ? random.nextInt(max) : 0;
+
+        Map<Enchantment, Integer> enchantments = new HashMap<>();
+        for (Enchantment enchantment : ENCHANTMENT_POOL) {
+            if (random.nextInt(3) == 0) {
+                enchantments.put(enchantment, 1 + random.nextInt(5));
+            }
+        }
+        return StandIns.item(material, damage, enchantments);
+    }
+
+    private static ItemStack tool(Material material, int damage, Object... enchantments) {
+        Map<Enchantment, Integer> levels = new HashMap<>();
+        for (int i = 0; i < enchantments.length; i += 2) {
+            levels.put((Enchantment) enchantments[i], (Integer) enchantments[i + 1]);
+        }
+        return StandIns.item(material, damage, levels);
+    }
+
+    private static ToolInventoryIndex index(ItemStack... items) {
+        ItemStack[] slots = Arrays.copyOf(items, ToolInventoryIndex.SLOT_COUNT);
+        ToolInventoryIndex index = new ToolInventoryIndex();
+        index.markAllDirty();
+        index.refresh(StandIns.inventory(slots));
+        return index;
+    }
+
+    private static ConfigSnapshot config(DurabilityPriority durability) {
+        return Fixtures.config(Fixtures.ORDER, durability, true, true);
+    }
+
+    private static PriorityProfile profileRanking(Enchantment... enchantments) {
+        Map<ToolType, List<Enchantment>> lists = new EnumMap<>(ToolType.class);
+        lists.put(ToolType.PICKAXE, Arrays.asList(enchantments));
+
+        int[][] ranks = new int[ToolType.values().length][];
+        int[] ids = new int[enchantments.length];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = EnchantmentIds.of(enchantments[i]);
+        }
+        ranks[ToolType.PICKAXE.ordinal()] = ids;
+        return new PriorityProfile(Fixtures.ORDER, ranks, lists);
+    }
+
+    private static void permutations(List<PriorityType> types, int from, List<List<PriorityType>> out) {
+        if (from == types.size()) {
+            out.add(new ArrayList<>(types));
+            return;
+        }
+        for (int i = from; i < types.size(); i++) {
+            Collections.swap(types, from, i);
+            permutations(types, from + 1, out);
+            Collections.swap(types, from, i);
+        }
+    }
+}
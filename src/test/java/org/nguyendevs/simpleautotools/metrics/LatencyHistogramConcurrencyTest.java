@@ -0,0 +1,91 @@
+package org.nguyendevs.simpleautotools.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Region threads record while /sat stats snapshots; no sample may be lost or counted twice
+ */
+class LatencyHistogramConcurrencyTest {
+
+    private static final int RECORDERS = 8;
+    private static final int SAMPLES = 200_000;
+
+    @Test
+    void concurrentRecordersLoseNothing() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        AtomicBoolean recording = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService threads = Executors.newFixedThreadPool(RECORDERS + 1);
+
+        long expectedTotal = 0;
+        long expectedMax = 0;
+        for (int r = 0; r < RECORDERS; r++) {
+            for (int i = 0; i < SAMPLES; i++) {
+                expectedTotal += sample(r, i);
+                expectedMax = Math.max(expectedMax, sample(r, i));
+            }
+        }
+
+        try {
+            List<Future<?>> recorders = new ArrayList<>();
+            for (int r = 0; r < RECORDERS; r++) {
+                int recorder = r;
+                recorders.add(threads.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < SAMPLES; i++) {
+                        histogram.record(sample(recorder, i));
+                    }
+                    return null;
+                }));
+            }
+
+            // Counters only grow, so each snapshot must see at least as much as the one before
+            Future<Integer> reader = threads.submit(() -> {
+                start.await();
+                long previous = 0;
+                int snapshots = 0;
+                while (recording.get()) {
+                    long count = histogram.snapshot().getCount();
+                    assertTrue(count >= previous, count + " after " + previous);
+                    assertTrue(count <= (long) RECORDERS * SAMPLES);
+                    previous = count;
+                    snapshots++;
+                }
+                return snapshots;
+            });
+
+            start.countDown();
+            for (Future<?> recorder : recorders) {
+                recorder.get(60, TimeUnit.SECONDS);
+            }
+            recording.set(false);
+            assertTrue(reader.get(60, TimeUnit.SECONDS) > 0);
+        } finally {
+            threads.shutdownNow();
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        long count = (long) RECORDERS * SAMPLES;
+        assertEquals(count, snapshot.getCount());
+        assertEquals(expectedMax, snapshot.getMaxNanos());
+        assertEquals(expectedTotal / (double) count, snapshot.getMeanNanos(), 1e-6);
+        assertEquals(expectedMax, snapshot.getPercentileNanos(100));
+    }
+
+    // Spread over many buckets, from a few nanoseconds to milliseconds
+    private static long sample(int recorder, int index) {
+        return 1 + ((index * 7919L + recorder * 104729L) % 5_000_000);
+    }
+}
@@ -0,0 +1,64 @@
+package org.nguyendevs.simpleautotools.utils;
+
+import org.bukkit.Material;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.nguyendevs.simpleautotools.testing.StandInServer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Expected values follow the vanilla formula: ceil(30 * hardness / speed) ticks
+ * with the correct tool, ceil(100 * hardness / speed) ticks without
+ */
+class DigSpeedCalculatorTest {
+
+    @BeforeAll
+    static void setUp() {
+        StandInServer.install();
+    }
+
+    @Test
+    void shearsSpeedDependsOnTheBlock() {
+        // Cobweb 4.0 at speed 15, wool 0.8 at speed 5, leaves 0.2 at speed 15 (instant)
+        assertEquals(8, DigSpeedCalculator.getBreakTicks(Material.SHEARS, 0, Material.COBWEB, 0));
+        assertEquals(5, DigSpeedCalculator.getBreakTicks(Material.SHEARS, 0, Material.WHITE_WOOL, 0));
+        assertEquals(0, DigSpeedCalculator.getBreakTicks(Material.SHEARS, 0, Material.OAK_LEAVES, 0));
+        // Stone 1.5 at bare-hand speed 1, and shears cannot harvest it
+        assertEquals(150, DigSpeedCalculator.getBreakTicks(Material.SHEARS, 0, Material.STONE, 0));
+    }
+
+    @Test
+    void swordSpeedDependsOnTheBlock() {
+        assertEquals(8, DigSpeedCalculator.getBreakTicks(Material.IRON_SWORD, 0, Material.COBWEB, 0));
+        // Leaves 0.2 at speed 1.5
+        assertEquals(4, DigSpeedCalculator.getBreakTicks(Material.IRON_SWORD, 0, Material.OAK_LEAVES, 0));
+        // Bare-hand speed on anything else, without harvesting stone
+        assertEquals(150, DigSpeedCalculator.getBreakTicks(Material.IRON_SWORD, 0, Material.STONE, 0));
+        assertEquals(15, DigSpeedCalculator.getBreakTicks(Material.IRON_SWORD, 0, Material.DIRT, 0));
+    }
+
+    @Test
+    void efficiencyOnlyAppliesAboveBareHandSpeed() {
+        // Wool: 5 + 5 * 5 + 1 = 31, more than 30 * 0.8 so it breaks instantly
+        assertEquals(0, DigSpeedCalculator.getBreakTicks(Material.SHEARS, 5, Material.WHITE_WOOL, 0));
+        assertEquals(150, DigSpeedCalculator.getBreakTicks(Material.SHEARS, 5, Material.STONE, 0));
+        assertEquals(150, DigSpeedCalculator.getBreakTicks(Material.IRON_SWORD, 5, Material.STONE, 0));
+        // Leaves: 1.5 + 26 = 27.5, more than 30 * 0.2
+        assertEquals(0, DigSpeedCalculator.getBreakTicks(Material.IRON_SWORD, 5, Material.OAK_LEAVES, 0));
+    }
+
+    @Test
+    void harvestingNeedsTheRightToolTypeAndTier() {
+        assertTrue(TagBasedToolUtils.canHarvest(Material.WOODEN_PICKAXE, Material.STONE));
+        assertFalse(TagBasedToolUtils.canHarvest(Material.SHEARS, Material.STONE));
+        assertFalse(TagBasedToolUtils.canHarvest(Material.DIAMOND_SWORD, Material.STONE));
+        assertFalse(TagBasedToolUtils.canHarvest(Material.STONE_PICKAXE, Material.DIAMOND_ORE));
+        assertTrue(TagBasedToolUtils.canHarvest(Material.IRON_SWORD, Material.COBWEB));
+        // Ice and dirt drop with any tool
+        assertTrue(TagBasedToolUtils.canHarvest(Material.IRON_SWORD, Material.ICE));
+        assertTrue(TagBasedToolUtils.canHarvest(Material.SHEARS, Material.DIRT));
+    }
+}
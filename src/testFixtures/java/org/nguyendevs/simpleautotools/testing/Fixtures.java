@@ -0,0 +1,100 @@
+package org.nguyendevs.simpleautotools.testing;
+
+import org.bukkit.enchantments.Enchantment;
+import org.nguyendevs.simpleautotools.config.ConfigSnapshot;
+import org.nguyendevs.simpleautotools.config.ConfigSnapshot.Feature;
+import org.nguyendevs.simpleautotools.managers.PriorityProfile;
+import org.nguyendevs.simpleautotools.utils.DurabilityPriority;
+import org.nguyendevs.simpleautotools.utils.EnchantmentIds;
+import org.nguyendevs.simpleautotools.utils.PriorityType;
+import org.nguyendevs.simpleautotools.utils.ToolType;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Config snapshots and the default priority profile matching the shipped config.yml and priority.yml
+ */
+public final class Fixtures {
+
+    public static final List<PriorityType> ORDER =
+            Arrays.asList(PriorityType.ENCHANTMENT, PriorityType.MATERIAL, PriorityType.DURABILITY);
+
+    private Fixtures() {
+    }
+
+    public static ConfigSnapshot config(boolean smartEnchantment) {
+        return config(ORDER, DurabilityPriority.HIGH, smartEnchantment, true);
+    }
+
+    public static ConfigSnapshot config(List<PriorityType> order, DurabilityPriority durability,
+                                        boolean smartEnchantment, boolean materialPriority) {
+        EnumSet<Feature> features = EnumSet.of(
+                Feature.AUTO_SWITCH_BLOCKS,
+                Feature.AUTO_SWITCH_ENTITIES,
+                Feature.CHECK_HARVEST_LEVEL,
+                Feature.SEARCH_HOTBAR,
+                Feature.SEARCH_INVENTORY);
+        if (smartEnchantment) {
+            features.add(Feature.SMART_ENCHANTMENT);
+        }
+        if (materialPriority) {
+            features.add(Feature.MATERIAL_PRIORITY);
+        }
+
+        return new ConfigSnapshot(Collections.emptyList(), order,
+                durability, features, 30, 0, 150, 2, new int[0], 3000);
+    }
+
+    public static PriorityProfile profile() {
+        return profile(ORDER);
+    }
+
+    /**
+     * Resolves enchantment ids, so it installs the stand-in server first
+     */
+    public static PriorityProfile profile(List<PriorityType> order) {
+        StandInServer.install();
+        Map<ToolType, List<Enchantment>> enchantments = new EnumMap<>(ToolType.class);
+        enchantments.put(ToolType.PICKAXE, pickaxeEnchantments());
+        enchantments.put(ToolType.SWORD, swordEnchantments());
+        enchantments.put(ToolType.AXE, axeEnchantments());
+        enchantments.put(ToolType.SHOVEL, pickaxeEnchantments());
+        enchantments.put(ToolType.HOE, pickaxeEnchantments());
+        enchantments.put(ToolType.SHEARS, Arrays.asList(Enchantment.DIG_SPEED,
+                Enchantment.DURABILITY, Enchantment.MENDING));
+
+        int[][] ranks = new int[ToolType.values().length][];
+        for (Map.Entry<ToolType, List<Enchantment>> entry : enchantments.entrySet()) {
+            ranks[entry.getKey().ordinal()] = ranks(entry.getValue());
+        }
+        return new PriorityProfile(order, ranks, enchantments);
+    }
+
+    private static List<Enchantment> pickaxeEnchantments() {
+        return Arrays.asList(Enchantment.SILK_TOUCH, Enchantment.DIG_SPEED, Enchantment.LOOT_BONUS_BLOCKS,
+                Enchantment.DURABILITY, Enchantment.MENDING);
+    }
+
+    private static List<Enchantment> swordEnchantments() {
+        return Arrays.asList(Enchantment.DAMAGE_ALL, Enchantment.FIRE_ASPECT, Enchantment.LOOT_BONUS_MOBS,
+                Enchantment.SWEEPING_EDGE, Enchantment.KNOCKBACK, Enchantment.DURABILITY, Enchantment.MENDING);
+    }
+
+    private static List<Enchantment> axeEnchantments() {
+        return Arrays.asList(Enchantment.SILK_TOUCH, Enchantment.DIG_SPEED, Enchantment.LOOT_BONUS_BLOCKS,
+                Enchantment.DAMAGE_ALL, Enchantment.DURABILITY, Enchantment.MENDING);
+    }
+
+    private static int[] ranks(List<Enchantment> enchantments) {
+        int[] ids = new int[enchantments.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = EnchantmentIds.of(enchantments.get(i));
+        }
+        return ids;
+    }
+}
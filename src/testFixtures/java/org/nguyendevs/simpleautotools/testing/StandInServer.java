@@ -0,0 +1,170 @@
+package org.nguyendevs.simpleautotools.testing;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Keyed;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Server;
+import org.bukkit.Tag;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.enchantments.EnchantmentTarget;
+import org.bukkit.inventory.ItemStack;
+import org.nguyendevs.simpleautotools.utils.DigSpeedCalculator;
+import org.nguyendevs.simpleautotools.utils.TagBasedToolUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * Just enough of a Bukkit server to run the plugin's classifiers and selection code
+ *
+ * Installs a stand-in Server whose getTag() knows a handful of vanilla tag
+ * members, registers placeholder enchantments under the vanilla keys and then
+ * builds the TagBasedToolUtils tables. Must run before EnchantmentIds,
+ * ToolScorer or ToolInventoryIndex are first touched.
+ */
+public final class StandInServer {
+
+    private static boolean installed;
+
+    private StandInServer() {
+    }
+
+    public static synchronized void install() {
+        if (installed) {
+            return;
+        }
+        installed = true;
+
+        Map<String, Set<Material>> tags = new HashMap<>();
+        tags.put("mineable/pickaxe", EnumSet.of(Material.STONE, Material.IRON_ORE, Material.DIAMOND_ORE,
+                Material.DEEPSLATE_DIAMOND_ORE, Material.OBSIDIAN, Material.ICE));
+        tags.put("mineable/axe", EnumSet.of(Material.OAK_LOG, Material.OAK_PLANKS));
+        tags.put("mineable/shovel", EnumSet.of(Material.DIRT, Material.SAND, Material.GRAVEL));
+        tags.put("mineable/hoe", EnumSet.of(Material.HAY_BLOCK, Material.OAK_LEAVES));
+        tags.put("leaves", EnumSet.of(Material.OAK_LEAVES));
+        tags.put("wool", EnumSet.of(Material.WHITE_WOOL));
+        tags.put("ice", EnumSet.of(Material.ICE));
+        tags.put("needs_stone_tool", EnumSet.of(Material.IRON_ORE));
+        tags.put("needs_iron_tool", EnumSet.of(Material.DIAMOND_ORE, Material.DEEPSLATE_DIAMOND_ORE));
+        tags.put("needs_diamond_tool", EnumSet.of(Material.OBSIDIAN));
+
+        Logger logger = Logger.getLogger("SimpleAutoTools-StandIn");
+        Map<String, Function<Object[], Object>> answers = new HashMap<>();
+        answers.put("getTag", args -> {
+            NamespacedKey key = (NamespacedKey) args[1];
+            return new SetTag(key, tags.getOrDefault(key.getKey(), Collections.emptySet()));
+        });
+        answers.put("getLogger", args -> logger);
+        answers.put("getName", args -> "StandIn");
+        answers.put("getVersion", args -> "stand-in");
+        answers.put("getBukkitVersion", args -> "stand-in");
+        Bukkit.setServer(StandIns.proxy(Server.class, answers));
+
+        registerEnchantments();
+        TagBasedToolUtils.buildTables();
+        DigSpeedCalculator.buildTables();
+    }
+
+    /**
+     * The Enchantment constants are wrappers that resolve through the registry,
+     * which the server normally fills in
+     */
+    private static void registerEnchantments() {
+        for (Field field : Enchantment.class.getFields()) {
+            if (field.getType() != Enchantment.class || !Modifier.isStatic(field.getModifiers())) continue;
+
+            try {
+                NamespacedKey key = ((Enchantment) field.get(null)).getKey();
+                if (Enchantment.getByKey(key) == null) {
+                    Enchantment.registerEnchantment(new PlaceholderEnchantment(key));
+                }
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Could not read Enchantment." + field.getName(), e);
+            }
+        }
+    }
+
+    // Raw Keyed so one class serves every registry; only Material tags have members here
+    @SuppressWarnings("rawtypes")
+    private static final class SetTag implements Tag {
+
+        private final NamespacedKey key;
+        private final Set<?> values;
+
+        SetTag(NamespacedKey key, Set<?> values) {
+            this.key = key;
+            this.values = values;
+        }
+
+        @Override
+        public boolean isTagged(Keyed item) {
+            return values.contains(item);
+        }
+
+        @Override
+        public Set getValues() {
+            return values;
+        }
+
+        @Override
+        public NamespacedKey getKey() {
+            return key;
+        }
+    }
+
+    private static final class PlaceholderEnchantment extends Enchantment {
+
+        PlaceholderEnchantment(NamespacedKey key) {
+            super(key);
+        }
+
+        @Override
+        public String getName() {
+            return getKey().getKey().toUpperCase(Locale.ROOT);
+        }
+
+        @Override
+        public int getMaxLevel() {
+            return 5;
+        }
+
+        @Override
+        public int getStartLevel() {
+            return 1;
+        }
+
+        @Override
+        public EnchantmentTarget getItemTarget() {
+            return EnchantmentTarget.ALL;
+        }
+
+        @Override
+        public boolean isTreasure() {
+            return false;
+        }
+
+        @Override
+        public boolean isCursed() {
+            return false;
+        }
+
+        @Override
+        public boolean conflictsWith(Enchantment other) {
+            return false;
+        }
+
+        @Override
+        public boolean canEnchantItem(ItemStack item) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package org.nguyendevs.simpleautotools.testing;
+
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.inventory.meta.Damageable;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Lightweight in-memory stand-ins for the Bukkit inventory types
+ *
+ * Interfaces are implemented with dynamic proxies that answer only the calls
+ * the plugin makes and return zero/null for everything else.
+ */
+public final class StandIns {
+
+    private StandIns() {
+    }
+
+    /**
+     * Player inventory backed by a plain array (slots 0-35 are the ones the plugin reads)
+     */
+    public static PlayerInventory inventory(ItemStack[] items) {
+        Map<String, Function<Object[], Object>> answers = new HashMap<>();
+        answers.put("getItem", args -> {
+            int slot = (Integer) args[0];
+            return slot < items.length ? items[slot] : null;
+        });
+        answers.put("getSize", args -> 41);
+        answers.put("getHeldItemSlot", args -> 0);
+        answers.put("getItemInMainHand", args -> items[0]);
+        answers.put("getContents", args -> items.clone());
+        return proxy(PlayerInventory.class, answers);
+    }
+
+    public static ItemStack item(Material type, int damage, Map<Enchantment, Integer> enchantments) {
+        return new StandInItem(type, damage, enchantments);
+    }
+
+    public static <T> T proxy(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        Object instance = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return self == args[0];
+                case "hashCode":
+                    return System.identityHashCode(self);
+                case "toString":
+                    return type.getSimpleName() + " stand-in";
+            }
+
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            return defaultValue(method);
+        });
+        return type.cast(instance);
+    }
+
+    private static Object defaultValue(Method method) {
+        Class<?> type = method.getReturnType();
+        if (type == boolean.class) return false;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == double.class) return 0.0;
+        if (type == float.class) return 0.0f;
+        if (type == short.class) return (short) 0;
+        if (type == byte.class) return (byte) 0;
+        if (type == char.class) return (char) 0;
+        return null;
+    }
+
+    /**
+     * ItemStack with a fixed type, damage and enchantments
+     * Unlike CraftItemStack, getItemMeta() hands out the same meta instead of a copy
+     */
+    private static final class StandInItem extends ItemStack {
+
+        private final Material type;
+        private final Map<Enchantment, Integer> enchantments;
+        private final ItemMeta meta;
+
+        StandInItem(Material type, int damage, Map<Enchantment, Integer> enchantments) {
+            this.type = type;
+            this.enchantments = Collections.unmodifiableMap(new HashMap<>(enchantments));
+
+            Map<String, Function<Object[], Object>> answers = new HashMap<>();
+            answers.put("getDamage", args -> damage);
+            answers.put("hasDamage", args -> damage > 0);
+            answers.put("hasEnchants", args -> !this.enchantments.isEmpty());
+            answers.put("getEnchants", args -> this.enchantments);
+            answers.put("getEnchantLevel", args -> this.enchantments.getOrDefault((Enchantment) args[0], 0));
+            this.meta = proxy(Damageable.class, answers);
+        }
+
+        @Override
+        public Material getType() {
+            return type;
+        }
+
+        @Override
+        public int getAmount() {
+            return 1;
+        }
+
+        @Override
+        public Map<Enchantment, Integer> getEnchantments() {
+            return enchantments;
+        }
+
+        @Override
+        public int getEnchantmentLevel(Enchantment enchantment) {
+            return enchantments.getOrDefault(enchantment, 0);
+        }
+
+        @Override
+        public boolean hasItemMeta() {
+            return true;
+        }
+
+        @Override
+        public ItemMeta getItemMeta() {
+            return meta;
+        }
+    }
+}